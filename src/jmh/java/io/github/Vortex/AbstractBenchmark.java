@@ -0,0 +1,18 @@
+package io.github.Vortex;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings shared by all the benchmarks, JMH picks the annotations up from the superclass.
+ * A benchmark only declares what differs, anything here can still be overridden through {@code -Djmh.args}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractBenchmark {
+}
@@ -0,0 +1,99 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.AbstractBenchmark;
+import io.github.Vortex.TaskConfigurationProperties;
+import io.github.Vortex.model.Project;
+import io.github.Vortex.model.ProjectRepository;
+import io.github.Vortex.model.ProjectStep;
+import io.github.Vortex.model.projection.GroupReadModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+public class ProjectServiceBenchmark extends AbstractBenchmark {
+    @Param({"1", "10", "100"})
+    int stepCount;
+
+    private final LocalDateTime deadline = LocalDateTime.of(2022, 2, 2, 10, 0);
+    private Project project;
+    private ProjectService service;
+
+    @Setup
+    public void setUp() {
+        project = new Project();
+        project.setDescription("project");
+        var steps = new HashSet<ProjectStep>();
+        for (int i = 0; i < stepCount; i++) {
+            var step = new ProjectStep();
+            step.setId(i + 1);
+            step.setDescription("step " + i);
+            step.setDaysToDeadline(-i);
+            step.setProject(project);
+            steps.add(step);
+        }
+        project.setSteps(steps);
+    }
+
+    /**
+     * Fresh group repository for every iteration, so it doesn't keep growing with the invocations.
+     */
+    @Setup(Level.Iteration)
+    public void setUpService() {
+        var groupRepository = new InMemoryGroupRepository();
+        service = new ProjectService(projectRepository(), groupRepository,
+                new TaskGroupService(groupRepository, event -> { }), allowingMultipleGroups(),
+                new ConcurrentMapCache(ProjectService.PLANS_CACHE));
+    }
+
+    @Benchmark
+    public GroupReadModel createGroup() {
+        return service.createGroup(deadline, 1);
+    }
+
+    private ProjectRepository projectRepository() {
+        return new ProjectRepository() {
+            @Override
+            public List<Project> findAll() {
+                return List.of(project);
+            }
+
+            @Override
+            public List<Project> findAllWithSteps() {
+                return List.of(project);
+            }
+
+            @Override
+            public List<Project> findAllWithGroups() {
+                return List.of(project);
+            }
+
+            @Override
+            public Optional<Project> findById(final Integer id) {
+                return Optional.of(project);
+            }
+
+            @Override
+            public List<Project> findAllWithStepsByIdIn(final Collection<Integer> ids) {
+                return List.of(project);
+            }
+
+            @Override
+            public Project save(final Project entity) {
+                return entity;
+            }
+        };
+    }
+
+    private TaskConfigurationProperties allowingMultipleGroups() {
+        var template = new TaskConfigurationProperties.Template();
+        template.setAllowMultipleTasks(true);
+        var config = new TaskConfigurationProperties();
+        config.setTemplate(template);
+        return config;
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.Vortex.model.projection;
+
+import io.github.Vortex.AbstractBenchmark;
+import io.github.Vortex.model.Project;
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroup;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+public class GroupModelBenchmark extends AbstractBenchmark {
+    @Param({"1", "10", "100"})
+    int groupSize;
+
+    private TaskGroup group;
+    private List<GroupTaskRow> rows;
+    private GroupWriteModel writeModel;
+    private Project project;
+
+    @Setup
+    public void setUp() {
+        var deadline = LocalDateTime.of(2022, 2, 2, 10, 0);
+        group = new TaskGroup();
+        group.setId(1);
+        group.setDescription("group");
+        var tasks = new HashSet<Task>();
+        rows = new ArrayList<>();
+        writeModel = new GroupWriteModel();
+        writeModel.setDescription("group");
+        writeModel.setTasks(new ArrayList<>());
+        for (int i = 0; i < groupSize; i++) {
+            var task = new Task("task " + i, deadline.plusDays(i), group);
+            task.setDone(i % 2 == 0);
+            tasks.add(task);
+            rows.add(new GroupTaskRow(1, "group", deadline.plusDays(groupSize - 1), i + 1, task.getDescription(), task.isDone()));
+
+            var taskWriteModel = new GroupTaskWriteModel();
+            taskWriteModel.setDescription(task.getDescription());
+            taskWriteModel.setDeadline(task.getDeadline());
+            writeModel.getTasks().add(taskWriteModel);
+        }
+        group.setTasks(tasks);
+        project = new Project();
+    }
+
+    @Benchmark
+    public GroupReadModel readModelFromEntity() {
+        return new GroupReadModel(group);
+    }
+
+    @Benchmark
+    public List<GroupReadModel> readModelFromRows() {
+        return GroupReadModel.fromRows(rows);
+    }
+
+    @Benchmark
+    public TaskGroup writeModelToGroup() {
+        return writeModel.toGroup(project);
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.Vortex.model.projection;
+
+import io.github.Vortex.AbstractBenchmark;
+import io.github.Vortex.model.Project;
+import io.github.Vortex.model.ProjectStep;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+
+public class ProjectModelBenchmark extends AbstractBenchmark {
+    @Param({"1", "10", "100"})
+    int stepCount;
+
+    private ProjectWriteModel writeModel;
+
+    @Setup
+    public void setUp() {
+        writeModel = new ProjectWriteModel();
+        writeModel.setDescription("project");
+        writeModel.setSteps(new ArrayList<>());
+        for (int i = 0; i < stepCount; i++) {
+            var step = new ProjectStep();
+            step.setDescription("step " + i);
+            step.setDaysToDeadline(-i);
+            writeModel.getSteps().add(step);
+        }
+    }
+
+    @Benchmark
+    public Project writeModelToProject() {
+        return writeModel.toProject();
+    }
+}
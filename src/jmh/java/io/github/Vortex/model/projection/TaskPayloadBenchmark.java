@@ -0,0 +1,86 @@
+package io.github.Vortex.model.projection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.Vortex.AbstractBenchmark;
+import io.github.Vortex.model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Serialization time of a {@code /tasks} page in each encoding, with the payload size reported
+ * as the {@code bytes} counter. The entity baseline uses ungrouped tasks - grouped ones don't
+ * serialize at all, the group leads back to its tasks.
+ */
+public class TaskPayloadBenchmark extends AbstractBenchmark {
+    @Param({"1", "20", "1000"})
+    int taskCount;
+
+    private List<Task> entities;
+    private List<TaskReadModel> readModels;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        var deadline = LocalDateTime.of(2022, 2, 2, 10, 0);
+        entities = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            var task = new Task("task " + i, deadline.plusDays(i));
+            task.setId(i + 1);
+            task.setDone(i % 2 == 0);
+            entities.add(task);
+        }
+        readModels = entities.stream().map(TaskReadModel::new).collect(Collectors.toList());
+        json = mapper().build();
+        cbor = mapper().factory(new CBORFactory()).build();
+        smile = mapper().factory(new SmileFactory()).build();
+    }
+
+    @Benchmark
+    public byte[] entityJson(Payload payload) throws JsonProcessingException {
+        return write(json, entities, payload);
+    }
+
+    @Benchmark
+    public byte[] readModelJson(Payload payload) throws JsonProcessingException {
+        return write(json, readModels, payload);
+    }
+
+    @Benchmark
+    public byte[] readModelCbor(Payload payload) throws JsonProcessingException {
+        return write(cbor, readModels, payload);
+    }
+
+    @Benchmark
+    public byte[] readModelSmile(Payload payload) throws JsonProcessingException {
+        return write(smile, readModels, payload);
+    }
+
+    private static byte[] write(ObjectMapper mapper, Object value, Payload payload) throws JsonProcessingException {
+        var result = mapper.writeValueAsBytes(value);
+        payload.bytes = result.length;
+        return result;
+    }
+
+    // the settings Spring Boot applies to the application's mappers
+    private static Jackson2ObjectMapperBuilder mapper() {
+        return new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.Vortex;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.Vortex.adapter.SqlStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.task.TaskExecutorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.RejectedExecutionException;
+
+@Configuration
+class AsyncConfiguration {
+    /**
+     * Async work in this app is blocking JDBC, so threads beyond the connection pool size would only wait for Hikari.
+     * Pool metrics (executor.*) come from Boot, rejected tasks are counted on top of them.
+     * Tasks keep counting their SQL towards the request or service call that submitted them.
+     */
+    @Bean
+    TaskExecutorCustomizer connectionBoundTaskExecutor(
+            final TaskExecutionProperties properties,
+            final ObjectProvider<DataSource> dataSource,
+            final MeterRegistry registry
+    ) {
+        return executor -> {
+            var pool = properties.getPool();
+            int maxSize = pool.getMaxSize();
+            var source = dataSource.getIfAvailable();
+            var hikari = source == null ? null : DataSourceUnwrapper.unwrap(source, HikariDataSource.class);
+            if (hikari != null) {
+                maxSize = Math.min(maxSize, hikari.getMaximumPoolSize());
+            }
+            executor.setCorePoolSize(Math.min(pool.getCoreSize(), maxSize));
+            executor.setMaxPoolSize(maxSize);
+
+            var rejected = registry.counter("executor.rejected", "name", "applicationTaskExecutor");
+            executor.setRejectedExecutionHandler((task, threadPool) -> {
+                rejected.increment();
+                throw new RejectedExecutionException("Task executor saturated");
+            });
+            executor.setTaskDecorator(SqlStatistics::propagate);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.Vortex;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+class CacheConfiguration {
+    /**
+     * The Caffeine caches from spring.cache.*, made transaction aware: an eviction issued inside a transaction
+     * waits for its commit, otherwise a read between the eviction and the commit caches the old state again.
+     * Outside transactions caches behave as before. Cache metrics see through the proxy.
+     */
+    @Bean
+    CacheManager cacheManager(final CacheProperties properties) {
+        var caffeine = new CaffeineCacheManager();
+        var spec = properties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            caffeine.setCacheSpecification(spec);
+        }
+        caffeine.setCacheNames(properties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.TaskGroup;
+
+import java.util.List;
+
+interface BatchTaskGroupRepository {
+    List<TaskGroup> insertAll(List<TaskGroup> groups);
+}
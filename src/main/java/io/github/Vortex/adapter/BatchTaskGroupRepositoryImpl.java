@@ -0,0 +1,66 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.TaskGroup;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Plain JDBC batch inserts of groups together with their tasks, see {@link BatchTaskRepositoryImpl}.
+ */
+class BatchTaskGroupRepositoryImpl implements BatchTaskGroupRepository {
+    private static final String INSERT = "insert into task_groups" +
+            " (description, done, task_count, undone_count, latest_deadline, project_id, version)" +
+            " values (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchTaskRepositoryImpl tasks;
+
+    BatchTaskGroupRepositoryImpl(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tasks = new BatchTaskRepositoryImpl(jdbcTemplate);
+    }
+
+    @Override
+    @Transactional
+    public List<TaskGroup> insertAll(final List<TaskGroup> groups) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (var statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < groups.size(); from += BatchTaskRepositoryImpl.BATCH_SIZE) {
+                    var chunk = groups.subList(from, Math.min(from + BatchTaskRepositoryImpl.BATCH_SIZE, groups.size()));
+                    for (var group : chunk) {
+                        statement.setString(1, group.getDescription());
+                        statement.setBoolean(2, group.isDone());
+                        statement.setInt(3, group.getTaskCount());
+                        statement.setInt(4, group.getUndoneCount());
+                        statement.setTimestamp(5, group.getLatestDeadline() == null ? null : Timestamp.valueOf(group.getLatestDeadline()));
+                        if (group.getProject() == null) {
+                            statement.setNull(6, Types.INTEGER);
+                        } else {
+                            statement.setInt(6, group.getProject().getId());
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (var keys = statement.getGeneratedKeys()) {
+                        for (var group : chunk) {
+                            keys.next();
+                            group.setId(keys.getInt(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+        tasks.insertAll(groups.stream()
+                .flatMap(group -> group.getTasks().stream())
+                .collect(Collectors.toList()));
+        return groups;
+    }
+}
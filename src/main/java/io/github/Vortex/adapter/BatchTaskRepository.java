@@ -0,0 +1,9 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.Task;
+
+import java.util.List;
+
+interface BatchTaskRepository {
+    List<Task> insertAll(List<Task> tasks);
+}
@@ -0,0 +1,63 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.Task;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC batch inserts - IDENTITY ids turn Hibernate batching off, so bulk imports go around it.
+ */
+class BatchTaskRepositoryImpl implements BatchTaskRepository {
+    static final int BATCH_SIZE = 500;
+    // version is written explicitly, the schema Hibernate generates has no default for it
+    private static final String INSERT = "insert into tasks" +
+            " (description, done, deadline, created_on, updated_on, task_group_id, version) values (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    BatchTaskRepositoryImpl(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<Task> insertAll(final List<Task> tasks) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (var statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < tasks.size(); from += BATCH_SIZE) {
+                    var chunk = tasks.subList(from, Math.min(from + BATCH_SIZE, tasks.size()));
+                    for (var task : chunk) {
+                        statement.setString(1, task.getDescription());
+                        statement.setBoolean(2, task.isDone());
+                        statement.setTimestamp(3, task.getDeadline() == null ? null : Timestamp.valueOf(task.getDeadline()));
+                        statement.setTimestamp(4, now);
+                        statement.setTimestamp(5, now);
+                        if (task.getGroup() == null) {
+                            statement.setNull(6, Types.INTEGER);
+                        } else {
+                            statement.setInt(6, task.getGroup().getId());
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (var keys = statement.getGeneratedKeys()) {
+                        for (var task : chunk) {
+                            keys.next();
+                            task.setId(keys.getInt(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+        return tasks;
+    }
+}
@@ -2,15 +2,39 @@ package io.github.Vortex.adapter;
 
 import io.github.Vortex.model.Project;
 import io.github.Vortex.model.ProjectRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 interface SqlProjectRepository extends ProjectRepository, JpaRepository<Project, Integer> {
     @Override
-    @Query("select distinct p from Project p join fetch p.steps")
+    @Query("select p from Project p")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Project> findAll();
+
+    @Override
+    @Query("select distinct p from Project p")
+    @EntityGraph(Project.WITH_STEPS_GRAPH)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Project> findAllWithSteps();
+
+    @Override
+    @Query("select distinct p from Project p")
+    @EntityGraph(Project.WITH_GROUPS_GRAPH)
+    List<Project> findAllWithGroups();
+
+    @Override
+    @Query("select distinct p from Project p where p.id in :ids")
+    @EntityGraph(Project.WITH_STEPS_GRAPH)
+    List<Project> findAllWithStepsByIdIn(@Param("ids") Collection<Integer> ids);
 }
\ No newline at end of file
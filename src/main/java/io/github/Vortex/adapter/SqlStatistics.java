@@ -0,0 +1,113 @@
+package io.github.Vortex.adapter;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Statements and JDBC time executed while a scope is open on the current thread - an HTTP request,
+ * a service call. Scopes nest, every statement counts towards all the enclosing ones.
+ * Statements are recorded by the DataSource wrapper installed by {@link SqlStatisticsPostProcessor}.
+ *
+ * @see #propagate(Runnable)
+ */
+public final class SqlStatistics implements AutoCloseable {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SqlStatistics parent;
+    private final ConcurrentMap<String, LongAdder> shapes;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private SqlStatistics(final SqlStatistics parent, final boolean trackShapes) {
+        this.parent = parent;
+        this.shapes = trackShapes ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Opens a scope on the current thread; close it on the same thread.
+     *
+     * @param trackShapes whether to remember how often each statement shape ran
+     */
+    public static SqlStatistics open(final boolean trackShapes) {
+        var statistics = new SqlStatistics(CURRENT.get(), trackShapes);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Lets the scopes open on the calling thread collect statements executed by the task on another thread.
+     */
+    public static Runnable propagate(final Runnable task) {
+        var captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            var previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    static void record(final String sql, final long durationNanos) {
+        for (var statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.add(sql, durationNanos);
+        }
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getNanos() {
+        return nanos.get();
+    }
+
+    /**
+     * @return the most frequent statement shapes with their counts, most frequent first
+     */
+    public Map<String, Long> topShapes(final int limit) {
+        var result = new LinkedHashMap<String, Long>();
+        if (shapes != null) {
+            shapes.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum())
+                            .reversed())
+                    .limit(limit)
+                    .forEach(entry -> result.put(entry.getKey(), entry.getValue().sum()));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.set(parent);
+        }
+    }
+
+    private void add(final String sql, final long durationNanos) {
+        statements.incrementAndGet();
+        nanos.addAndGet(durationNanos);
+        if (shapes != null && sql != null) {
+            shapes.computeIfAbsent(shape(sql), ignored -> new LongAdder()).increment();
+        }
+    }
+
+    // Hibernate binds parameters already, this only folds literals of hand-written SQL
+    private static String shape(final String sql) {
+        return WHITESPACE.matcher(LITERALS.matcher(sql).replaceAll("?")).replaceAll(" ").trim();
+    }
+}
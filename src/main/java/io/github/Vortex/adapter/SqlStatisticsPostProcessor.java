@@ -0,0 +1,20 @@
+package io.github.Vortex.adapter;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts statement counting in front of every {@link DataSource}, so JPA and plain JDBC calls are both covered.
+ */
+@Component
+class SqlStatisticsPostProcessor implements BeanPostProcessor {
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof DataSource) {
+            return StatementCountingDataSource.wrap((DataSource) bean);
+        }
+        return bean;
+    }
+}
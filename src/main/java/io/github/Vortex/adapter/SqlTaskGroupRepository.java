@@ -2,18 +2,75 @@ package io.github.Vortex.adapter;
 
 import io.github.Vortex.model.TaskGroup;
 import io.github.Vortex.model.TaskGroupRepository;
+import io.github.Vortex.model.projection.GroupTaskRow;
+import io.github.Vortex.model.projection.Watermark;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-interface SqlTaskGroupRepository extends TaskGroupRepository, JpaRepository<TaskGroup, Integer> {
+interface SqlTaskGroupRepository extends TaskGroupRepository, JpaRepository<TaskGroup, Integer>, BatchTaskGroupRepository {
     @Override
-    @Query("select distinct g from TaskGroup g join fetch g.tasks")
+    @Query("select distinct g from TaskGroup g left join fetch g.tasks")
     List<TaskGroup> findAll();
 
     @Override
-    boolean existsByDoneIsFalseAndProject_Id(Integer projectId);
+    @Query("select new io.github.Vortex.model.projection.GroupTaskRow(g.id, g.description, g.latestDeadline," +
+            " t.id, t.description, t.done) from TaskGroup g left join g.tasks t order by g.id")
+    List<GroupTaskRow> findAllGroupTaskRows();
+
+    @Override
+    @Query("select g.version from TaskGroup g where g.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Integer id);
+
+    @Override
+    @Query("select new io.github.Vortex.model.projection.Watermark(count(g), sum(g.version)) from TaskGroup g")
+    Watermark findWatermark();
+
+    // derived from the method name this would join the project just to read its id and scan all the groups
+    @Override
+    @Query("select case when count(g) > 0 then true else false end from TaskGroup g" +
+            " where g.done = false and g.project.id = :projectId")
+    boolean existsByDoneIsFalseAndProject_Id(@Param("projectId") Integer projectId);
+
+    @Override
+    @Query("select distinct g.project.id from TaskGroup g where g.done = false and g.project.id in :projectIds")
+    List<Integer> findProjectIdsWithUndoneGroups(@Param("projectIds") Collection<Integer> projectIds);
+
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update TaskGroup g set g.taskCount = g.taskCount + :tasksDelta, g.undoneCount = g.undoneCount + :undoneDelta," +
+            " g.done = case when g.undoneCount + :undoneDelta > 0 then false else g.done end," +
+            " g.version = g.version + 1 where g.id = :id")
+    void updateCounters(@Param("id") Integer id, @Param("tasksDelta") int tasksDelta, @Param("undoneDelta") int undoneDelta);
+
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskGroup g set g.done = case when g.done = true then false else true end, g.version = g.version + 1" +
+            " where g.id = :id and (g.done = true or g.undoneCount = 0)")
+    int toggleDone(@Param("id") Integer id);
+
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update TaskGroup g set g.latestDeadline = :deadline, g.version = g.version + 1" +
+            " where g.id = :id and (g.latestDeadline is null or g.latestDeadline < :deadline)")
+    void raiseLatestDeadline(@Param("id") Integer id, @Param("deadline") LocalDateTime deadline);
+
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update TaskGroup g set g.latestDeadline = (select max(t.deadline) from Task t where t.group.id = :id)," +
+            " g.version = g.version + 1 where g.id = :id")
+    void recalculateLatestDeadline(@Param("id") Integer id);
 }
\ No newline at end of file
@@ -2,23 +2,76 @@ package io.github.Vortex.adapter;
 
 import io.github.Vortex.model.Task;
 import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.projection.TaskSummary;
+import io.github.Vortex.model.projection.Watermark;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 
 @Repository
-interface SqlTaskRepository extends TaskRepository, JpaRepository<Task, Integer> {
+interface SqlTaskRepository extends TaskRepository, JpaRepository<Task, Integer>, BatchTaskRepository {
+    String STREAM_FETCH_SIZE = "500";
+
     @Override
     @Query(nativeQuery = true, value = "select count(*) > 0 from tasks where id=:id")
     boolean existsById(@Param("id") Integer id);
 
+    // derived from the method name these join the group just to read its id, which makes H2 scan all the tasks
+    @Override
+    @Query("select case when count(t) > 0 then true else false end from Task t" +
+            " where t.done = false and t.group.id = :groupId")
+    boolean existsByDoneIsFalseAndGroup_Id(@Param("groupId") Integer groupId);
+
+    @Override
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Integer id);
+
+    @Override
+    @Query("select new io.github.Vortex.model.projection.Watermark(count(t), sum(t.version)," +
+            " max(coalesce(t.audit.updatedOn, t.audit.createdOn))) from Task t")
+    Watermark findWatermark();
+
+    @Override
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.done = case when t.done = true then false else true end," +
+            " t.version = t.version + 1, t.audit.updatedOn = :now where t.id = :id")
+    int toggleDone(@Param("id") Integer id, @Param("now") LocalDateTime now);
+
+    // the derived variant of a projected slice trips over Spring Data resolving the projection type
+    @Override
+    @Query("select t.id as id, t.description as description from Task t where t.done = :done")
+    Slice<TaskSummary> findSummariesByDone(@Param("done") boolean done, Pageable page);
+
+    @Override
+    @Query("select t from Task t where t.group.id = :groupId")
+    List<Task> findAllByGroup_Id(@Param("groupId") Integer groupId);
+
     @Override
-    boolean existsByDoneIsFalseAndGroup_Id(Integer groupId);
+    @Query("select t from Task t where t.audit.updatedOn >= :since order by t.audit.updatedOn, t.id")
+    List<Task> findChangedSince(@Param("since") LocalDateTime since);
 
     @Override
-    List<Task> findAllByGroup_Id(Integer groupId);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select t from Task t left join fetch t.group")
+    Stream<Task> streamAll();
 }
\ No newline at end of file
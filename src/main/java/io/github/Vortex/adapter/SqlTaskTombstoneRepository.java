@@ -0,0 +1,18 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.TaskTombstone;
+import io.github.Vortex.model.TaskTombstoneRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+interface SqlTaskTombstoneRepository extends TaskTombstoneRepository, JpaRepository<TaskTombstone, Integer> {
+    @Override
+    @Query("select t from TaskTombstone t where t.deletedOn >= :since order by t.deletedOn, t.taskId")
+    List<TaskTombstone> findDeletedSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,78 @@
+package io.github.Vortex.adapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * JDBC proxies reporting every executed statement to {@link SqlStatistics}.
+ * A batch counts as one statement - it is one round trip.
+ */
+final class StatementCountingDataSource {
+    private StatementCountingDataSource() {
+    }
+
+    static DataSource wrap(final DataSource target) {
+        return proxy(DataSource.class, target, (proxy, method, args) -> {
+            if ("getConnection".equals(method.getName())) {
+                return connection((Connection) invoke(target, method, args));
+            }
+            return wrapperMethod(proxy, target, method, args);
+        });
+    }
+
+    private static Connection connection(final Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            var name = method.getName();
+            if ("createStatement".equals(name) || "prepareStatement".equals(name) || "prepareCall".equals(name)) {
+                var statement = (Statement) invoke(target, method, args);
+                var sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return statement(method.getReturnType(), statement, sql);
+            }
+            return wrapperMethod(proxy, target, method, args);
+        });
+    }
+
+    private static Object statement(final Class<?> type, final Statement target, final String preparedSql) {
+        return proxy(type, target, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return wrapperMethod(proxy, target, method, args);
+            }
+            var sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                SqlStatistics.record(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static Object wrapperMethod(final Object proxy, final Object target, final Method method, final Object[] args)
+            throws Throwable {
+        if ("isWrapperFor".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+            return true;
+        }
+        if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+            return proxy;
+        }
+        return invoke(target, method, args);
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final Object target, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
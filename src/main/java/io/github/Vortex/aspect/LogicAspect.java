@@ -1,47 +1,109 @@
 package io.github.Vortex.aspect;
 
+import io.github.Vortex.adapter.SqlStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// outermost, so cache hits and transaction commits count towards what callers see
 @Aspect
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 class LogicAspect {
     public static final Logger logger = LoggerFactory.getLogger(LogicAspect.class);
-    private final Timer projectCreateGroupTimer;
+    static final String TIMER_NAME = "logic.method";
+    static final String EXCEPTIONS_NAME = "logic.method.exceptions";
+    static final String SQL_STATEMENTS_NAME = "logic.method.sql.statements";
+    static final String SQL_TIME_NAME = "logic.method.sql.time";
 
-    LogicAspect(final MeterRegistry registry) {
-        projectCreateGroupTimer = registry.timer("logic.project.create.group");
-    }
+    private final MeterRegistry registry;
+    private final ConcurrentMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
 
-    @Pointcut("execution(* io.github.Vortex.logic.ProjectService.createGroup(..))")
-    static void projectServiceCreateGroup() {
+    LogicAspect(final MeterRegistry registry) {
+        this.registry = registry;
     }
 
-    @Before("projectServiceCreateGroup()")
-    void logMethodCall(JoinPoint jp) {
-        logger.info("Before {} with{}", jp.getSignature().getName(), jp.getArgs());
+    @Pointcut("execution(public * io.github.Vortex.logic.*Service.*(..))")
+    static void serviceMethod() {
     }
 
-    @Around("projectServiceCreateGroup()")
-    Object aroundProjectCreateGroup(ProceedingJoinPoint jp) {
-        return projectCreateGroupTimer.record(() -> {
+    @Around("serviceMethod()")
+    Object timeServiceMethod(ProceedingJoinPoint jp) throws Throwable {
+        var method = ((MethodSignature) jp.getSignature()).getMethod();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Before {}.{} with {}",
+                    method.getDeclaringClass().getSimpleName(), method.getName(), Arrays.toString(jp.getArgs()));
+        }
+        var meters = this.meters.computeIfAbsent(method, this::createMeters);
+        long start = System.nanoTime();
+        try (var sql = SqlStatistics.open(false)) {
             try {
-                return jp.proceed();
-            } catch (Throwable e) {
-                if (e instanceof RuntimeException) {
-                    throw (RuntimeException) e;
-                }
-                throw new RuntimeException(e);
+                var result = jp.proceed();
+                meters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } finally {
+                meters.sqlStatements.record(sql.getStatements());
+                meters.sqlTime.record(sql.getNanos(), TimeUnit.NANOSECONDS);
             }
-        });
+        } catch (Throwable e) {
+            meters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            registry.counter(EXCEPTIONS_NAME,
+                    "class", method.getDeclaringClass().getSimpleName(),
+                    "method", method.getName(),
+                    "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        }
+    }
+
+    private MethodMeters createMeters(final Method method) {
+        var type = method.getDeclaringClass().getSimpleName();
+        return new MethodMeters(
+                timer(method, "success"),
+                timer(method, "error"),
+                DistributionSummary.builder(SQL_STATEMENTS_NAME)
+                        .tags("class", type, "method", method.getName())
+                        .register(registry),
+                Timer.builder(SQL_TIME_NAME)
+                        .tags("class", type, "method", method.getName())
+                        .register(registry));
+    }
+
+    private Timer timer(final Method method, final String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static class MethodMeters {
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary sqlStatements;
+        private final Timer sqlTime;
+
+        MethodMeters(final Timer success, final Timer error, final DistributionSummary sqlStatements, final Timer sqlTime) {
+            this.success = success;
+            this.error = error;
+            this.sqlStatements = sqlStatements;
+            this.sqlTime = sqlTime;
+        }
     }
 }
@@ -0,0 +1,55 @@
+package io.github.Vortex.controler;
+
+import io.github.Vortex.model.projection.Watermark;
+
+import java.util.Optional;
+
+/**
+ * Entity tags built from {@code @Version} columns and table watermarks, so they can be checked without
+ * loading or serializing anything. A single task gets a strong tag, usable in {@code If-Match}.
+ * Lists get weak ones: they come in several encodings and compressed, which a strong tag would forbid.
+ */
+class ETags {
+    static final String ANY = "*";
+    private static final String TASK_PREFIX = "task-";
+
+    static String task(int id, int version) {
+        return quote(TASK_PREFIX + id + "-" + version);
+    }
+
+    static String group(int id, int version) {
+        return weak("group-" + id + "-" + version);
+    }
+
+    static String tasks(Watermark tasks) {
+        return weak("tasks-" + tasks.tag());
+    }
+
+    static String groups(Watermark groups) {
+        return weak("groups-" + groups.tag());
+    }
+
+    /**
+     * @return version the client expects the task to have, empty for a tag which isn't a strong tag of this task
+     */
+    static Optional<Integer> taskVersion(String ifMatch, int id) {
+        var prefix = "\"" + TASK_PREFIX + id + "-";
+        var tag = ifMatch.trim();
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(tag.substring(prefix.length(), tag.length() - 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    private static String weak(String tag) {
+        return "W/" + quote(tag);
+    }
+}
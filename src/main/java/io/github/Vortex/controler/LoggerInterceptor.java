@@ -1,22 +0,0 @@
-package io.github.Vortex.controler;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
-
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
-
-@Component
-class LoggerInterceptor implements HandlerInterceptor {
-    private static final Logger logger = LoggerFactory.getLogger(LoggerInterceptor.class);
-
-    @Override
-    public boolean preHandle(final HttpServletRequest request,
-                             final HttpServletResponse response,
-                             final Object handler) {
-        logger.info("[preHandle] " + request.getMethod() + " " + request.getRequestURI());
-        return true;
-    }
-}
\ No newline at end of file
@@ -1,22 +1,75 @@
 package io.github.Vortex.controler;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 class MvcConfiguration implements WebMvcConfigurer {
-    private final Set<HandlerInterceptor> interceptors;
+    static final String APPLICATION_CBOR_VALUE = "application/cbor";
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
 
-    MvcConfiguration( Set<HandlerInterceptor> interceptors) {
+    private final ObjectProvider<HandlerInterceptor> interceptors;
+
+    MvcConfiguration(ObjectProvider<HandlerInterceptor> interceptors) {
         this.interceptors = interceptors;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        interceptors.forEach(registry::addInterceptor);
+        interceptors.orderedStream().forEach(registry::addInterceptor);
+    }
+
+    /**
+     * Scripts are linked by URLs carrying a hash of their content, so they can be cached for good -
+     * a changed script gets a new URL. Pages linking them stay on the default, revalidated handler.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/js/**")
+                .addResourceLocations("classpath:/static/js/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+                .resourceChain(true)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    @Override
+    public void addViewControllers(ViewControllerRegistry registry) {
+        registry.addViewController("/tasks.html").setViewName("tasks");
+    }
+
+    // rewrites @{...} links in templates to their versioned URLs
+    @Bean
+    ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    /**
+     * Binary encodings for the clients which ask for them, built from the same builder as the JSON mapper,
+     * so dates and the other settings come out the same way in every format.
+     */
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
     }
 }
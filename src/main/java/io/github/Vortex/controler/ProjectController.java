@@ -3,11 +3,15 @@ package io.github.Vortex.controler;
 import io.github.Vortex.logic.ProjectService;
 import io.github.Vortex.model.Project;
 import io.github.Vortex.model.ProjectStep;
+import io.github.Vortex.model.projection.GroupReadModel;
+import io.github.Vortex.model.projection.ProjectGroupWriteModel;
 import io.github.Vortex.model.projection.ProjectWriteModel;
 import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -19,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Controller
+@IllegalExceptionProcessing
 @RequestMapping("/projects")
 class ProjectController {
     private final ProjectService projectService;
@@ -73,6 +78,12 @@ class ProjectController {
         return "projects";
     }
 
+    @ResponseBody
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<List<GroupReadModel>> createGroups(@RequestBody List<ProjectGroupWriteModel> toCreate) {
+        return ResponseEntity.ok(projectService.createGroups(toCreate));
+    }
+
     @ModelAttribute("projects")
     List<Project> getProjects() {
         return projectService.readAll();
@@ -0,0 +1,92 @@
+package io.github.Vortex.controler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, multi-producer / single-consumer ring of request log entries.
+ * All slots are allocated up front; when the consumer falls behind, new entries are dropped rather than blocking.
+ */
+final class RequestLogBuffer {
+    interface Sink {
+        void accept(String method, String path, int status, long durationNanos);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final String[] methods;
+    private final String[] paths;
+    private final int[] statuses;
+    private final long[] durations;
+    // sequence + 1 of the entry written to the slot, so a zeroed slot never looks published
+    private final AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long tail;
+
+    RequestLogBuffer(final int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("Request log buffer needs at least one slot");
+        }
+        capacity = ceilingPowerOfTwo(requestedCapacity);
+        mask = capacity - 1;
+        methods = new String[capacity];
+        paths = new String[capacity];
+        statuses = new int[capacity];
+        durations = new long[capacity];
+        published = new AtomicLongArray(capacity);
+    }
+
+    boolean offer(final String method, final String path, final int status, final long durationNanos) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        int slot = (int) sequence & mask;
+        methods[slot] = method;
+        paths[slot] = path;
+        statuses[slot] = status;
+        durations[slot] = durationNanos;
+        published.set(slot, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Must only be called from a single consumer thread.
+     *
+     * @return number of entries handed to the sink
+     */
+    int drain(final Sink sink) {
+        long next = tail;
+        int drained = 0;
+        int slot = (int) next & mask;
+        while (published.get(slot) == next + 1) {
+            sink.accept(methods[slot], paths[slot], statuses[slot], durations[slot]);
+            methods[slot] = null;
+            paths[slot] = null;
+            next++;
+            drained++;
+            tail = next;
+            slot = (int) next & mask;
+        }
+        return drained;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    private static int ceilingPowerOfTwo(final int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
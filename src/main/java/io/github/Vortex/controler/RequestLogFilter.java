@@ -0,0 +1,173 @@
+package io.github.Vortex.controler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single access log for the app: method, URI template, status and duration of every sampled request go into
+ * a preallocated {@link RequestLogBuffer} and are written out by a background thread. When request logging is
+ * switched off (property or log level), requests pass through without any extra work.
+ */
+@Component
+class RequestLogFilter implements Filter, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(RequestLogFilter.class);
+    // keeps the per-path limits bounded when no handler pattern is known, e.g. for 404s
+    private static final String UNMAPPED = "UNMAPPED";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int perPathLimit;
+    private final RequestLogBuffer buffer;
+    private final ConcurrentMap<String, PathLimit> limits = new ConcurrentHashMap<>();
+    private final LongAdder limited = new LongAdder();
+    private final RequestLogBuffer.Sink writer = RequestLogFilter::write;
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    RequestLogFilter(@Value("${request-log.enabled:true}") final boolean enabled,
+                     @Value("${request-log.sample-rate:1.0}") final double sampleRate,
+                     @Value("${request-log.per-path-limit:100}") final int perPathLimit,
+                     @Value("${request-log.buffer-size:4096}") final int bufferSize,
+                     final MeterRegistry registry) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.perPathLimit = perPathLimit;
+        this.buffer = new RequestLogBuffer(bufferSize);
+        FunctionCounter.builder("request.log.dropped", buffer, RequestLogBuffer::dropped)
+                .description("Request log entries lost because the buffer was full")
+                .register(registry);
+        FunctionCounter.builder("request.log.limited", limited, LongAdder::sum)
+                .description("Request log entries skipped by the per-path rate limit")
+                .register(registry);
+        this.drainer = new Thread(this::drain, "request-log");
+        drainer.setDaemon(true);
+        if (enabled) {
+            drainer.start();
+        }
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request,
+                         final ServletResponse response,
+                         final FilterChain chain) throws IOException, ServletException {
+        if (!enabled || !logger.isInfoEnabled() || !(request instanceof HttpServletRequest)
+                || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        var httpRequest = (HttpServletRequest) request;
+        var httpResponse = (HttpServletResponse) response;
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(httpRequest, httpResponse, start));
+            } else {
+                record(httpRequest, httpResponse, start);
+            }
+        }
+    }
+
+    // called by both the servlet container and the bean factory, stopping twice is harmless
+    @Override
+    public void destroy() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void record(final HttpServletRequest request, final HttpServletResponse response, final long start) {
+        long duration = System.nanoTime() - start;
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var path = pattern instanceof String ? (String) pattern : UNMAPPED;
+        if (!limits.computeIfAbsent(path, ignored -> new PathLimit()).tryAcquire(perPathLimit)) {
+            limited.increment();
+            return;
+        }
+        buffer.offer(request.getMethod(), path, response.getStatus(), duration);
+    }
+
+    private void drain() {
+        while (running) {
+            if (buffer.drain(writer) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        buffer.drain(writer);
+    }
+
+    private static void write(final String method, final String path, final int status, final long durationNanos) {
+        logger.info("{} {} {} {}ms", method, path, status, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+    }
+
+    /**
+     * Fixed one-second window; a few extra entries slipping through when the window rolls over are fine.
+     */
+    private static class PathLimit {
+        private final AtomicLong window = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(final int limit) {
+            long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+            long current = window.get();
+            if (current != second && window.compareAndSet(current, second)) {
+                count.set(0);
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+
+    private class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+
+        CompletionListener(final HttpServletRequest request, final HttpServletResponse response, final long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            record(request, response, start);
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.Vortex.controler;
+
+import io.github.Vortex.adapter.SqlStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts SQL statements and JDBC time per request, including the work of async tasks the request started.
+ * Requests above the statement budget are logged with their most frequent statements - usually an N+1.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+class SqlStatisticsFilter implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatisticsFilter.class);
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    private static final String UNMAPPED = "UNMAPPED";
+    private static final int REPORTED_SHAPES = 5;
+
+    private final MeterRegistry registry;
+    private final int statementBudget;
+    private final boolean headerEnabled;
+
+    SqlStatisticsFilter(final MeterRegistry registry,
+                        @Value("${sql.statistics.statement-budget:20}") final int statementBudget,
+                        @Value("${sql.statistics.header-enabled:false}") final boolean headerEnabled) {
+        this.registry = registry;
+        this.statementBudget = statementBudget;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request,
+                         final ServletResponse response,
+                         final FilterChain chain) throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        var httpRequest = (HttpServletRequest) request;
+        var httpResponse = (HttpServletResponse) response;
+        try (var statistics = SqlStatistics.open(true)) {
+            var filteredResponse = headerEnabled ? new CountingHeaderResponse(httpResponse, statistics) : httpResponse;
+            try {
+                chain.doFilter(request, filteredResponse);
+            } finally {
+                if (request.isAsyncStarted()) {
+                    request.getAsyncContext().addListener(new CompletionListener(httpRequest, statistics));
+                } else {
+                    if (headerEnabled && !response.isCommitted()) {
+                        httpResponse.setIntHeader(STATEMENTS_HEADER, statistics.getStatements());
+                    }
+                    report(httpRequest, statistics);
+                }
+            }
+        }
+    }
+
+    private void report(final HttpServletRequest request, final SqlStatistics statistics) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var uri = pattern instanceof String ? (String) pattern : UNMAPPED;
+        DistributionSummary.builder("http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(statistics.getStatements());
+        Timer.builder("http.sql.time")
+                .description("JDBC time per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+        if (statistics.getStatements() > statementBudget) {
+            logger.warn("{} {} ran {} SQL statements (budget {}), most frequent: {}", request.getMethod(), uri,
+                    statistics.getStatements(), statementBudget, statistics.topShapes(REPORTED_SHAPES));
+        }
+    }
+
+    private class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final SqlStatistics statistics;
+
+        CompletionListener(final HttpServletRequest request, final SqlStatistics statistics) {
+            this.request = request;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            report(request, statistics);
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+        }
+    }
+
+    /**
+     * Adds the statement count right before the first body bytes go out. Jackson and non-streaming
+     * Thymeleaf buffer the whole body first, so lazy loads during rendering are still counted.
+     */
+    private static class CountingHeaderResponse extends HttpServletResponseWrapper {
+        private final SqlStatistics statistics;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private boolean headerWritten;
+
+        CountingHeaderResponse(final HttpServletResponse response, final SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new HeaderWritingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new HeaderWritingWriter(super.getWriter()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        private void writeHeader() {
+            if (!headerWritten) {
+                headerWritten = true;
+                if (!isCommitted()) {
+                    setIntHeader(STATEMENTS_HEADER, statistics.getStatements());
+                }
+            }
+        }
+
+        private class HeaderWritingOutputStream extends ServletOutputStream {
+            private final ServletOutputStream target;
+
+            HeaderWritingOutputStream(final ServletOutputStream target) {
+                this.target = target;
+            }
+
+            @Override
+            public void write(final int b) throws IOException {
+                writeHeader();
+                target.write(b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                writeHeader();
+                target.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writeHeader();
+                target.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writeHeader();
+                target.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return target.isReady();
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                target.setWriteListener(writeListener);
+            }
+        }
+
+        private class HeaderWritingWriter extends Writer {
+            private final PrintWriter target;
+
+            HeaderWritingWriter(final PrintWriter target) {
+                this.target = target;
+            }
+
+            @Override
+            public void write(final char[] buffer, final int off, final int len) {
+                writeHeader();
+                target.write(buffer, off, len);
+            }
+
+            @Override
+            public void flush() {
+                writeHeader();
+                target.flush();
+            }
+
+            @Override
+            public void close() {
+                writeHeader();
+                target.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.Vortex.controler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque watermark for the delta sync - clients just pass back the "next" token of the previous response.
+ */
+class SyncToken {
+    /**
+     * Watermark of an empty token, older than any change, so the first sync gets everything.
+     */
+    static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String PREFIX = "since:";
+
+    static String encode(LocalDateTime since) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + since).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return moment of the last change already seen, {@link #BEGINNING} for an empty token, empty for a malformed one
+     */
+    static Optional<LocalDateTime> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.of(BEGINNING);
+        }
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                return Optional.empty();
+            }
+            return Optional.of(LocalDateTime.parse(value.substring(PREFIX.length())));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.Vortex.controler;
+
+import io.github.Vortex.logic.TaskChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed task changes to the subscribed SSE clients. Every change gets the next sequence number
+ * and stays in a bounded ring, so a reconnecting client gets what it missed from its Last-Event-ID.
+ * Clients too far behind, or coming from before a restart, are told to reload everything instead.
+ * <p>
+ * Writers only queue the changes, every subscriber is written to by its own dispatch task on a fixed pool
+ * of dispatchers. A subscriber whose queue overflows, or whose dispatch task doesn't fit in the pool's queue,
+ * is dropped - its EventSource reconnects and catches up from the ring.
+ */
+@Component
+class TaskChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeed.class);
+    static final String TASK_EVENT = "task";
+    static final String POSITION_EVENT = "position";
+    static final String RESET_EVENT = "reset";
+
+    // sequence numbers restart with the app, the epoch tells tokens of different runs apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final TaskChangedEvent[] ring;
+    private final long timeoutMillis;
+    private final int subscriberBuffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // a stalled client holds up at most one dispatcher, the others wait in the pool's queue
+    private final ThreadPoolTaskExecutor dispatcher = new ThreadPoolTaskExecutor();
+    private long lastSequence;
+
+    TaskChangeFeed(@Value("${task-feed.capacity:1024}") final int capacity,
+                   @Value("${task-feed.timeout:5m}") final Duration timeout,
+                   @Value("${task-feed.subscriber-buffer:256}") final int subscriberBuffer,
+                   @Value("${task-feed.dispatchers:4}") final int dispatchers) {
+        this.ring = new TaskChangedEvent[capacity];
+        this.timeoutMillis = timeout.toMillis();
+        this.subscriberBuffer = subscriberBuffer;
+        dispatcher.setCorePoolSize(dispatchers);
+        dispatcher.setMaxPoolSize(dispatchers);
+        dispatcher.setQueueCapacity(subscriberBuffer);
+        dispatcher.setThreadNamePrefix("task-feed-");
+        dispatcher.initialize();
+    }
+
+    // subscribers get the changes in commit order, queued under the same lock that hands out the sequence numbers
+    @TransactionalEventListener(fallbackExecution = true)
+    synchronized void onTaskChanged(final TaskChangedEvent event) {
+        long sequence = ++lastSequence;
+        ring[(int) (sequence % ring.length)] = event;
+        for (var subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().name(TASK_EVENT).id(token(sequence)).data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * @param lastEventId token of the last change the client has seen, null for a new client
+     */
+    SseEmitter subscribe(final String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    synchronized SseEmitter subscribe(final String lastEventId, final SseEmitter emitter) {
+        var subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // registered first, so a subscriber dropped while queueing its replay stays dropped
+        subscribers.add(subscriber);
+        if (lastEventId == null) {
+            subscriber.enqueue(SseEmitter.event().name(POSITION_EVENT).id(token(lastSequence)).data(""));
+        } else {
+            // a replay that doesn't fit the buffer would only drop the client again, so it reloads instead
+            since(lastEventId).filter(missed -> missed.size() < subscriberBuffer).ifPresentOrElse(
+                    missed -> missed.forEach(entry -> subscriber.enqueue(SseEmitter.event()
+                            .name(TASK_EVENT)
+                            .id(token(entry.sequence))
+                            .data(entry.event, MediaType.APPLICATION_JSON))),
+                    () -> subscriber.enqueue(SseEmitter.event().name(RESET_EVENT).id(token(lastSequence)).data("")));
+        }
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * @return changes after the given token, empty when they are no longer known
+     */
+    synchronized Optional<List<Entry>> since(final String token) {
+        int separator = token.indexOf('-');
+        if (separator < 0 || !epoch.equals(token.substring(0, separator))) {
+            return Optional.empty();
+        }
+        long seen;
+        try {
+            seen = Long.parseLong(token.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (seen > lastSequence || seen < lastSequence - ring.length) {
+            return Optional.empty();
+        }
+        var result = new ArrayList<Entry>((int) (lastSequence - seen));
+        for (long sequence = seen + 1; sequence <= lastSequence; sequence++) {
+            result.add(new Entry(sequence, ring[(int) (sequence % ring.length)]));
+        }
+        return Optional.of(result);
+    }
+
+    String token(final long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * One client: the events waiting for it and at most one dispatch task writing them out.
+     */
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        Subscriber(final SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(final SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                logger.debug("Dropping task change subscriber, {} events behind", subscriberBuffer);
+                drop();
+            }
+            schedule();
+        }
+
+        private void drop() {
+            dropped = true;
+            subscribers.remove(this);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::dispatch);
+                } catch (TaskRejectedException e) {
+                    logger.debug("Dropping task change subscriber, no dispatcher available");
+                    drop();
+                    pending.clear();
+                    scheduled.set(false);
+                    complete();
+                }
+            }
+        }
+
+        private void dispatch() {
+            try {
+                for (var event = pending.poll(); event != null && !dropped; event = pending.poll()) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping task change subscriber: {}", e.getMessage());
+                drop();
+            } finally {
+                scheduled.set(false);
+            }
+            if (dropped) {
+                pending.clear();
+                complete();
+            } else if (!pending.isEmpty()) {
+                // queued after the last poll, but before the task was done
+                schedule();
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                logger.debug("Subscriber already completed: {}", e.getMessage());
+            }
+        }
+    }
+
+    static class Entry {
+        final long sequence;
+        final TaskChangedEvent event;
+
+        Entry(final long sequence, final TaskChangedEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+}
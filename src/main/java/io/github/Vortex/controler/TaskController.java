@@ -1,95 +1,296 @@
 package io.github.Vortex.controler;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.github.Vortex.logic.TaskService;
 import io.github.Vortex.model.Task;
 import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.TaskTombstone;
+import io.github.Vortex.model.TaskTombstoneRepository;
+import io.github.Vortex.model.projection.TaskBatchItemReadModel;
+import io.github.Vortex.model.projection.TaskChangesReadModel;
+import io.github.Vortex.model.projection.TaskReadModel;
+import io.github.Vortex.model.projection.TaskSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/tasks")
 class TaskController {
     public static final Logger logger = LoggerFactory.getLogger(TaskController.class);
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    static final int MAX_SLICE_SIZE = 1000;
     private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TaskChangeFeed changeFeed;
+    private final Duration syncSettleTime;
 
-    TaskController(TaskRepository taskRepository) {
+    TaskController(TaskRepository taskRepository, TaskTombstoneRepository tombstoneRepository, TaskService taskService,
+                   ObjectMapper objectMapper, TaskChangeFeed changeFeed,
+                   @Value("${task-sync.settle-time:1m}") Duration syncSettleTime) {
         this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.changeFeed = changeFeed;
+        this.syncSettleTime = syncSettleTime;
     }
 
-//    @GetMapping(params = {"!sort", "!page", "!size"})
-//    CompletableFuture<ResponseEntity<List<Task>>> readAllTasks() {
-//        logger.warn("Exposing all the tasks!!");
-//        return  taskService.findAllAsync().thenApply(ResponseEntity::ok);
-//    }
-
-    @GetMapping(params = {"!sort", "!page", "!size"})
-    ResponseEntity<List<Task>> readAllTasks() {
+    @GetMapping(params = {"!sort", "!page", "!size", "!after"},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MvcConfiguration.APPLICATION_CBOR_VALUE,
+                    MvcConfiguration.APPLICATION_SMILE_VALUE})
+    CompletableFuture<ResponseEntity<List<TaskReadModel>>> readAllTasks(WebRequest request) {
+        var eTag = ETags.tasks(taskRepository.findWatermark());
+        if (request.checkNotModified(eTag)) {
+            return CompletableFuture.completedFuture(null);
+        }
         logger.warn("Exposing all the tasks!");
-        return ResponseEntity.ok(taskRepository.findAll());
+        return taskService.findAllAsync().thenApply(tasks -> ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(toReadModels(tasks)));
+    }
+
+    @GetMapping(params = {"!sort", "!page", "!size", "!after"}, produces = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        logger.warn("Streaming all the tasks!");
+        var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = output -> {
+            var generator = objectMapper.getFactory().createGenerator(output)
+                    .setRootValueSeparator(null);
+            taskService.forEachTask(task -> {
+                try {
+                    writer.writeValue(generator, new TaskReadModel(task));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 
-    @GetMapping
-    ResponseEntity<List<Task>> readAllTasks(Pageable pageable) {
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MvcConfiguration.APPLICATION_CBOR_VALUE,
+            MvcConfiguration.APPLICATION_SMILE_VALUE})
+    ResponseEntity<List<TaskReadModel>> readAllTasks(Pageable pageable) {
         logger.info("Custom pageable");
-        return ResponseEntity.ok(taskRepository.findAll(pageable).getContent());
+        return ResponseEntity.ok(toReadModels(taskRepository.findAll(pageable).getContent()));
+    }
+
+    @GetMapping(params = {"after", "!page", "!sort"})
+    ResponseEntity<List<TaskReadModel>> readTasksAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        var lastId = TaskCursor.decode(after);
+        if (lastId.isEmpty() || size < 1 || size > MAX_SLICE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        var slice = taskRepository.findByIdGreaterThan(lastId.get(), PageRequest.of(0, size, Sort.by("id")));
+        var response = ResponseEntity.ok();
+        if (slice.hasNext()) {
+            var last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", TaskCursor.encode(last.getId()))
+                    .replaceQueryParam("size", size)
+                    .build().toUri();
+            response.header(HttpHeaders.LINK, "<" + next.getRawPath() + "?" + next.getRawQuery() + ">; rel=\"next\"");
+        }
+        return response.body(toReadModels(slice.getContent()));
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamTaskChanges(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * Delta sync: tasks changed and deleted since the token, an empty one gets everything.
+     * Changes are stamped before their transaction commits, so a change stamped earlier may still show up
+     * after a later one. The returned watermark therefore stays the settle time behind now, and whatever
+     * changed since then comes again - clients apply the changes idempotently: upsert the changed tasks,
+     * then drop the deleted ones.
+     */
+    @GetMapping(path = "/changes", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MvcConfiguration.APPLICATION_CBOR_VALUE, MvcConfiguration.APPLICATION_SMILE_VALUE})
+    ResponseEntity<TaskChangesReadModel> readChanges(@RequestParam(required = false) String since) {
+        var watermark = SyncToken.decode(since);
+        if (watermark.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        var changed = taskRepository.findChangedSince(watermark.get());
+        var deleted = tombstoneRepository.findDeletedSince(watermark.get());
+        var next = watermark.get();
+        if (!changed.isEmpty()) {
+            next = later(next, changed.get(changed.size() - 1).getAudit().getUpdatedOn());
+        }
+        if (!deleted.isEmpty()) {
+            next = later(next, deleted.get(deleted.size() - 1).getDeletedOn());
+        }
+        var settled = LocalDateTime.now().minus(syncSettleTime);
+        if (next.isAfter(settled)) {
+            next = later(watermark.get(), settled);
+        }
+        return ResponseEntity.ok(new TaskChangesReadModel(
+                toReadModels(changed),
+                deleted.stream().map(TaskTombstone::getTaskId).collect(Collectors.toList()),
+                SyncToken.encode(next)));
     }
 
     @GetMapping("/{id}")
-    ResponseEntity<Task> readTask(@PathVariable int id) {
+    ResponseEntity<TaskReadModel> readTask(@PathVariable int id, WebRequest request) {
+        // only a revalidating client is worth the extra version probe, everybody else needs the task anyway
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            var version = taskRepository.findVersionById(id);
+            if (version.isPresent() && request.checkNotModified(ETags.task(id, version.get()))) {
+                return null;
+            }
+        }
         return taskRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(task -> ResponseEntity.ok()
+                        .eTag(ETags.task(id, task.getVersion()))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(new TaskReadModel(task)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @GetMapping(value = "/search/done")
-    ResponseEntity<List<Task>> readDoneTasks(@RequestParam(defaultValue = "true") boolean state) {
-        return ResponseEntity.ok(taskRepository.findByDone(state));
+    @GetMapping(value = "/search/done", params = "!count")
+    ResponseEntity<List<TaskSummary>> readDoneTasks(
+            @RequestParam(defaultValue = "true") boolean state,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        if (pageable.getPageSize() > MAX_SLICE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        var slice = taskRepository.findSummariesByDone(state, pageable);
+        var response = ResponseEntity.ok();
+        if (slice.hasNext()) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", slice.nextPageable().getPageNumber())
+                    .replaceQueryParam("size", pageable.getPageSize())
+                    .build().toUri();
+            response.header(HttpHeaders.LINK, "<" + next.getRawPath() + "?" + next.getRawQuery() + ">; rel=\"next\"");
+        }
+        return response.body(slice.getContent());
+    }
+
+    @GetMapping(value = "/search/done", params = "count")
+    ResponseEntity<Long> countDoneTasks(@RequestParam(defaultValue = "true") boolean state) {
+        return ResponseEntity.ok(taskRepository.countByDone(state));
     }
 
     @PostMapping
-    ResponseEntity<Task> createTask(@RequestBody @Valid Task toCreate) {
-        Task result = taskRepository.save(toCreate);
-        return ResponseEntity.created(URI.create("/" + result.getId())).body(result);
+    ResponseEntity<TaskReadModel> createTask(@RequestBody @Valid Task toCreate) {
+        Task result = taskService.create(toCreate);
+        return ResponseEntity.created(URI.create("/" + result.getId())).body(new TaskReadModel(result));
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<List<TaskBatchItemReadModel>> createTasks(@RequestBody List<Task> toCreate) {
+        return ResponseEntity.ok(taskService.createAll(toCreate));
+    }
+
+    @PostMapping(path = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<?> createTasks(InputStream body) throws IOException {
+        List<Task> toCreate;
+        try {
+            toCreate = objectMapper.readerFor(Task.class).<Task>readValues(body).readAll();
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(e.getOriginalMessage());
+        }
+        return ResponseEntity.ok(taskService.createAll(toCreate));
     }
 
     @PutMapping("/{id}")
-    ResponseEntity<?> updateTask(@RequestBody @Valid Task toUpdate, @PathVariable int id) {
-        if (!taskRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
+    ResponseEntity<?> updateTask(
+            @RequestBody @Valid Task toUpdate,
+            @PathVariable int id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Integer expectedVersion = null;
+        if (ifMatch != null && !ETags.ANY.equals(ifMatch.trim())) {
+            var version = ETags.taskVersion(ifMatch, id);
+            if (version.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            expectedVersion = version.get();
+        }
+        try {
+            return taskService.update(id, toUpdate, expectedVersion)
+                    .map(task -> ResponseEntity.ok().eTag(ETags.task(id, task.getVersion())).body(new TaskReadModel(task)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion == null) {
+                throw e;
+            }
+            logger.info("Rejecting stale write: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
-        taskRepository.findById(id)
-                .ifPresent(task -> {
-                    task.updateFrom(toUpdate);
-                    taskRepository.save(task);
-                });
-        return taskRepository.findById(id)
-                .map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
-    @Transactional
     @PatchMapping("/{id}")
     public ResponseEntity<?> toggleTask(@PathVariable int id) {
-        if (!taskRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
-        }
-        taskRepository.findById(id)
-                .ifPresent(task -> task.setDone(!task.isDone()));
-        return taskRepository.findById(id)
+        return taskService.toggle(id)
+                .map(TaskReadModel::new)
                 .map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    ResponseEntity<?> handleConflict(ConcurrencyFailureException e) {
+        logger.warn("Giving up after concurrent writes: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    ResponseEntity<?> handleSaturation(TaskRejectedException e) {
+        logger.warn("Rejecting request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    private static List<TaskReadModel> toReadModels(List<Task> tasks) {
+        return tasks.stream().map(TaskReadModel::new).collect(Collectors.toList());
+    }
+
+    private static LocalDateTime later(LocalDateTime first, LocalDateTime second) {
+        return second.isAfter(first) ? second : first;
+    }
+
     @DeleteMapping("/{id}")
-    ResponseEntity<Task> deleteTask(@PathVariable int id) {
-//        taskRepository.deleteById(id);
+    ResponseEntity<?> deleteTask(@PathVariable int id) {
+        if (!taskService.delete(id)) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,35 @@
+package io.github.Vortex.controler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque keyset pagination token - clients just pass back what they received in the "next" link.
+ */
+class TaskCursor {
+    private static final String PREFIX = "id:";
+
+    static String encode(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return id of the last task already seen, 0 for an empty token (first page), empty for a malformed one
+     */
+    static Optional<Integer> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.of(0);
+        }
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                return Optional.empty();
+            }
+            return Optional.of(Integer.parseInt(value.substring(PREFIX.length())));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package io.github.Vortex.controler;
 
 import io.github.Vortex.logic.TaskGroupService;
-import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroupRepository;
 import io.github.Vortex.model.TaskRepository;
 import io.github.Vortex.model.projection.GroupReadModel;
 import io.github.Vortex.model.projection.GroupTaskWriteModel;
 import io.github.Vortex.model.projection.GroupWriteModel;
+import io.github.Vortex.model.projection.TaskReadModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -13,20 +15,25 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/groups")
 class TaskGroupController {
     private final TaskGroupService taskGroupService;
     private final TaskRepository taskRepository;
+    private final TaskGroupRepository groupRepository;
 
-    TaskGroupController(TaskGroupService taskGroupService, TaskRepository taskRepository) {
+    TaskGroupController(TaskGroupService taskGroupService, TaskRepository taskRepository,
+                        TaskGroupRepository groupRepository) {
         this.taskGroupService = taskGroupService;
         this.taskRepository = taskRepository;
+        this.groupRepository = groupRepository;
     }
 
     @GetMapping(produces = MediaType.TEXT_HTML_VALUE)
@@ -64,15 +71,36 @@ class TaskGroupController {
     }
 
     @ResponseBody
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    ResponseEntity<List<GroupReadModel>> readAllGroups() {
-        return ResponseEntity.ok(taskGroupService.readAll());
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MvcConfiguration.APPLICATION_CBOR_VALUE,
+            MvcConfiguration.APPLICATION_SMILE_VALUE})
+    ResponseEntity<List<GroupReadModel>> readAllGroups(WebRequest request) {
+        var eTag = ETags.groups(groupRepository.findWatermark());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(taskGroupService.readAll());
     }
 
     @ResponseBody
-    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    ResponseEntity<List<Task>> readAllTasksFromGroup(@PathVariable int id) {
-        return ResponseEntity.ok(taskRepository.findAllByGroup_Id(id));
+    @GetMapping(path = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MvcConfiguration.APPLICATION_CBOR_VALUE,
+            MvcConfiguration.APPLICATION_SMILE_VALUE})
+    ResponseEntity<List<TaskReadModel>> readAllTasksFromGroup(@PathVariable int id, WebRequest request) {
+        var version = groupRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(tasksOf(id));
+        }
+        // every change of a grouped task goes through the group's counters and bumps its version
+        var eTag = ETags.group(id, version.get());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(tasksOf(id));
+    }
+
+    private List<TaskReadModel> tasksOf(int groupId) {
+        return taskRepository.findAllByGroup_Id(groupId).stream()
+                .map(TaskReadModel::new)
+                .collect(Collectors.toList());
     }
 
     @ResponseBody
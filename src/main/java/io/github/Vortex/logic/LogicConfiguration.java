@@ -3,7 +3,8 @@ package io.github.Vortex.logic;
 import io.github.Vortex.TaskConfigurationProperties;
 import io.github.Vortex.model.ProjectRepository;
 import io.github.Vortex.model.TaskGroupRepository;
-import io.github.Vortex.model.TaskRepository;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,16 +15,18 @@ public class LogicConfiguration {
             final ProjectRepository repository,
             final TaskGroupRepository taskGroupRepository,
             final TaskGroupService taskGroupService,
-            final TaskConfigurationProperties config
+            final TaskConfigurationProperties config,
+            final CacheManager cacheManager
     ) {
-        return new ProjectService(repository, taskGroupRepository, taskGroupService, config);
+        return new ProjectService(repository, taskGroupRepository, taskGroupService, config,
+                cacheManager.getCache(ProjectService.PLANS_CACHE));
     }
 
     @Bean
     TaskGroupService taskGroupService(
             final TaskGroupRepository repository,
-            final TaskRepository taskRepository
+            final ApplicationEventPublisher eventPublisher
     ) {
-        return new TaskGroupService(repository, taskRepository);
+        return new TaskGroupService(repository, eventPublisher);
     }
 }
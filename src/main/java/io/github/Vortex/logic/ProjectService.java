@@ -3,60 +3,111 @@ package io.github.Vortex.logic;
 import io.github.Vortex.TaskConfigurationProperties;
 import io.github.Vortex.model.Project;
 import io.github.Vortex.model.ProjectRepository;
+import io.github.Vortex.model.TaskGroup;
 import io.github.Vortex.model.TaskGroupRepository;
 import io.github.Vortex.model.projection.GroupReadModel;
-import io.github.Vortex.model.projection.GroupTaskWriteModel;
-import io.github.Vortex.model.projection.GroupWriteModel;
+import io.github.Vortex.model.projection.ProjectGroupWriteModel;
 import io.github.Vortex.model.projection.ProjectWriteModel;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class ProjectService {
+    public static final String PROJECTS_CACHE = "projects";
+    public static final String PLANS_CACHE = "project-plans";
+
     private final ProjectRepository repository;
     private final TaskGroupRepository taskGroupRepository;
     private final TaskGroupService taskGroupService;
     private final TaskConfigurationProperties config;
+    /**
+     * Template plans by project id. Projects aren't edited after they are created, so entries only expire.
+     */
+    private final Cache plans;
 
     ProjectService(final ProjectRepository repository,
                    final TaskGroupRepository taskGroupRepository,
                    final TaskGroupService taskGroupService,
-                   final TaskConfigurationProperties config) {
+                   final TaskConfigurationProperties config,
+                   final Cache plans) {
         this.repository = repository;
         this.taskGroupRepository = taskGroupRepository;
         this.taskGroupService = taskGroupService;
         this.config = config;
+        this.plans = plans;
     }
 
+    @Cacheable(PROJECTS_CACHE)
     public List<Project> readAll() {
-        return repository.findAll();
+        // cached beyond the request, so the steps the view renders must be loaded already
+        return repository.findAllWithSteps();
     }
 
+    @CacheEvict(cacheNames = PROJECTS_CACHE, allEntries = true)
     public Project save(ProjectWriteModel toSave) {
         return repository.save(toSave.toProject());
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = TaskGroupService.GROUPS_CACHE, allEntries = true)
     public GroupReadModel createGroup(LocalDateTime deadline, int projectId) {
         if (!config.getTemplate().isAllowMultipleTasks() &&
                 taskGroupRepository.existsByDoneIsFalseAndProject_Id(projectId)) {
             throw new IllegalStateException("Only one undone group from project is allowed!");
         }
-        return repository.findById(projectId)
-                .map(project -> {
-                    var targetGroup = new GroupWriteModel();
-                    targetGroup.setDescription(project.getDescription());
-                    targetGroup.setTasks(
-                            project.getSteps().stream()
-                                    .map(projectStep -> {
-                                                var task = new GroupTaskWriteModel();
-                                                task.setDescription(projectStep.getDescription());
-                                                task.setDeadline(deadline.plusDays(projectStep.getDaysToDeadline()));
-                                                return task;
-                                            }
-                                    ).collect(Collectors.toList())
-                    );
-                    return taskGroupService.createGroup(targetGroup, project);
-                }).orElseThrow(() -> new IllegalArgumentException("Project with given id not found!"));
+        var plan = plans.get(projectId, ProjectTemplatePlan.class);
+        if (plan == null) {
+            plan = repository.findById(projectId)
+                    .map(project -> ProjectTemplatePlan.of(projectId, project))
+                    .orElseThrow(() -> new IllegalArgumentException("Project with given id not found!"));
+            plans.putIfAbsent(projectId, plan);
+        }
+        return taskGroupService.insertAll(List.of(plan.instantiate(deadline))).get(0);
+    }
+
+    /**
+     * Instantiates many project templates at once: the one-undone-group rule is checked for all the projects
+     * in one query, projects come with their steps in one fetch and the groups with their tasks are inserted
+     * in JDBC batches. Nothing is created when any of the groups is not allowed.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = TaskGroupService.GROUPS_CACHE, allEntries = true)
+    public List<GroupReadModel> createGroups(final List<ProjectGroupWriteModel> toCreate) {
+        if (toCreate.isEmpty()) {
+            return List.of();
+        }
+        if (toCreate.stream().anyMatch(source -> source.getDeadline() == null)) {
+            throw new IllegalStateException("Deadline is required for every group!");
+        }
+        var projectIds = toCreate.stream()
+                .map(ProjectGroupWriteModel::getProjectId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!config.getTemplate().isAllowMultipleTasks() && (projectIds.size() < toCreate.size()
+                || !taskGroupRepository.findProjectIdsWithUndoneGroups(projectIds).isEmpty())) {
+            throw new IllegalStateException("Only one undone group from project is allowed!");
+        }
+        var missing = projectIds.stream()
+                .filter(id -> plans.get(id) == null)
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            repository.findAllWithStepsByIdIn(missing)
+                    .forEach(project -> plans.putIfAbsent(project.getId(), ProjectTemplatePlan.of(project.getId(), project)));
+        }
+        var groups = new ArrayList<TaskGroup>(toCreate.size());
+        for (var source : toCreate) {
+            var plan = plans.get(source.getProjectId(), ProjectTemplatePlan.class);
+            if (plan == null) {
+                throw new IllegalArgumentException("Project with given id not found!");
+            }
+            groups.add(plan.instantiate(source.getDeadline()));
+        }
+        return taskGroupService.insertAll(groups);
     }
 }
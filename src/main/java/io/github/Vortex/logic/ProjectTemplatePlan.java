@@ -0,0 +1,61 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.model.Project;
+import io.github.Vortex.model.ProjectStep;
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroup;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+
+/**
+ * Immutable snapshot of a project's steps, ready to be stamped out as a group with tasks for any deadline.
+ * Steps are ordered by their offset from the deadline, then by description, and kept in parallel arrays,
+ * so instantiation doesn't touch the project entity or its lazy collections.
+ */
+final class ProjectTemplatePlan {
+    private final int projectId;
+    private final String description;
+    private final String[] stepDescriptions;
+    private final int[] daysToDeadline;
+
+    private ProjectTemplatePlan(final int projectId, final String description,
+                                final String[] stepDescriptions, final int[] daysToDeadline) {
+        this.projectId = projectId;
+        this.description = description;
+        this.stepDescriptions = stepDescriptions;
+        this.daysToDeadline = daysToDeadline;
+    }
+
+    static ProjectTemplatePlan of(final int projectId, final Project project) {
+        var steps = project.getSteps().stream()
+                .sorted(Comparator.comparingInt(ProjectStep::getDaysToDeadline)
+                        .thenComparing(ProjectStep::getDescription))
+                .toArray(ProjectStep[]::new);
+        var descriptions = new String[steps.length];
+        var days = new int[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            descriptions[i] = steps[i].getDescription();
+            days[i] = steps[i].getDaysToDeadline();
+        }
+        return new ProjectTemplatePlan(projectId, project.getDescription(), descriptions, days);
+    }
+
+    /**
+     * @return a new group of the project with one task per step, its aggregates set and nothing persisted yet
+     */
+    TaskGroup instantiate(final LocalDateTime deadline) {
+        var project = new Project();
+        project.setId(projectId);
+        var group = new TaskGroup();
+        group.setDescription(description);
+        group.setProject(project);
+        var tasks = new LinkedHashSet<Task>(stepDescriptions.length * 2);
+        for (int i = 0; i < stepDescriptions.length; i++) {
+            tasks.add(new Task(stepDescriptions[i], deadline.plusDays(daysToDeadline[i]), group));
+        }
+        group.setTasks(tasks);
+        return group;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a task taken when it was changed, published to listeners after the change is committed.
+ */
+public class TaskChangedEvent {
+    public enum Type {
+        CREATED, UPDATED, TOGGLED, DELETED
+    }
+
+    private final Type type;
+    private final int id;
+    private final String description;
+    private final boolean done;
+    private final LocalDateTime deadline;
+    private final Integer groupId;
+
+    public TaskChangedEvent(final Type type, final Task task) {
+        this.type = type;
+        this.id = task.getId();
+        this.description = task.getDescription();
+        this.done = task.isDone();
+        this.deadline = task.getDeadline();
+        this.groupId = task.getGroup() == null ? null : task.getGroup().getId();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public Integer getGroupId() {
+        return groupId;
+    }
+}
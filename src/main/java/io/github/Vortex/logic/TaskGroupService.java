@@ -1,47 +1,63 @@
 package io.github.Vortex.logic;
 
-import io.github.Vortex.model.Project;
 import io.github.Vortex.model.TaskGroup;
 import io.github.Vortex.model.TaskGroupRepository;
-import io.github.Vortex.model.TaskRepository;
 import io.github.Vortex.model.projection.GroupReadModel;
 import io.github.Vortex.model.projection.GroupWriteModel;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class TaskGroupService {
+    public static final String GROUPS_CACHE = "groups";
+
     private final TaskGroupRepository repository;
-    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    TaskGroupService(final TaskGroupRepository repository, final TaskRepository taskRepository) {
+    TaskGroupService(final TaskGroupRepository repository, final ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
-        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @CacheEvict(cacheNames = GROUPS_CACHE, allEntries = true)
     public GroupReadModel createGroup(final GroupWriteModel source){
-        return createGroup(source, null);
-    }
-
-    GroupReadModel createGroup(final GroupWriteModel source, final Project project) {
-        TaskGroup result = repository.save(source.toGroup(project));
+        TaskGroup result = repository.save(source.toGroup(null));
+        publishCreated(result);
         return new GroupReadModel(result);
     }
 
-    public List<GroupReadModel> readAll() {
-        return repository.findAll()
-                .stream()
+    /**
+     * Inserts new groups with their tasks in batches, see {@link TaskGroupRepository#insertAll(List)}.
+     */
+    List<GroupReadModel> insertAll(final List<TaskGroup> groups) {
+        var result = repository.insertAll(groups);
+        result.forEach(this::publishCreated);
+        return result.stream()
                 .map(GroupReadModel::new)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(GROUPS_CACHE)
+    public List<GroupReadModel> readAll() {
+        return GroupReadModel.fromRows(repository.findAllGroupTaskRows());
+    }
+
+    @CacheEvict(cacheNames = GROUPS_CACHE, allEntries = true)
     public void toggleGroup(int groupId) {
-        if (taskRepository.existsByDoneIsFalseAndGroup_Id(groupId)){
-            throw new IllegalStateException("Group has undone tasks. Done all the tasks first.");
+        // the undone check is part of the update, so a task reopened meanwhile can't slip under a done group
+        if (repository.toggleDone(groupId) > 0) {
+            return;
         }
-        TaskGroup result = repository.findById(groupId)
+        repository.findById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("TaskGroup with given id not found."));
-        result.setDone(!result.isDone());
-        repository.save(result);
+        throw new IllegalStateException("Group has undone tasks. Done all the tasks first.");
+    }
+
+    private void publishCreated(final TaskGroup group) {
+        group.getTasks().forEach(task ->
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task)));
     }
 }
@@ -1,28 +1,283 @@
 package io.github.Vortex.logic;
 
 import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroupRepository;
 import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.TaskTombstone;
+import io.github.Vortex.model.TaskTombstoneRepository;
+import io.github.Vortex.model.projection.TaskBatchItemReadModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
     public static final Logger logger = LoggerFactory.getLogger(TaskService.class);
+    static final int MAX_ATTEMPTS = 5;
+    private static final long BACKOFF_MILLIS = 5;
 
     private final TaskRepository repository;
+    private final TaskGroupRepository groupRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    TaskService(final TaskRepository repository) {
+    TaskService(final TaskRepository repository,
+                final TaskGroupRepository groupRepository,
+                final TaskTombstoneRepository tombstoneRepository,
+                final EntityManager entityManager,
+                final Validator validator,
+                final ApplicationEventPublisher eventPublisher,
+                final PlatformTransactionManager transactionManager) {
         this.repository = repository;
+        this.groupRepository = groupRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Runs on the bounded application task executor - the query itself is blocking, so no further hop is needed.
+     */
     @Async
     public CompletableFuture<List<Task>> findAllAsync() {
         logger.info("Supply Async!");
-        return CompletableFuture.supplyAsync(repository::findAll);
+        return CompletableFuture.completedFuture(repository.findAll());
     }
+
+    /**
+     * Walks through all the tasks on a database cursor. Every task is detached right after the action,
+     * so the persistence context doesn't grow with the number of rows.
+     */
+    @Transactional(readOnly = true)
+    public void forEachTask(final Consumer<Task> action) {
+        try (var tasks = repository.streamAll()) {
+            tasks.forEach(task -> {
+                action.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = TaskGroupService.GROUPS_CACHE, allEntries = true, condition = "#toCreate.group != null")
+    public Task create(final Task toCreate) {
+        Task result = repository.save(toCreate);
+        addToGroup(result);
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, result));
+        return result;
+    }
+
+    // the previous group of the task is not known up front, so any update may touch a group
+    @CacheEvict(cacheNames = TaskGroupService.GROUPS_CACHE, allEntries = true)
+    public Optional<Task> update(final int id, final Task source) {
+        return update(id, source, null);
+    }
+
+    /**
+     * Without an expected version a write lost to a concurrent change is retried on fresh state,
+     * up to {@link #MAX_ATTEMPTS} times.
+     *
+     * @param expectedVersion version the caller based its change on, {@code null} to overwrite whatever is stored
+     * @throws OptimisticLockingFailureException when the task has moved past the expected version
+     */
+    @CacheEvict(cacheNames = TaskGroupService.GROUPS_CACHE, allEntries = true)
+    public Optional<Task> update(final int id, final Task source, final Integer expectedVersion) {
+        if (expectedVersion != null) {
+            return transactionTemplate.execute(status -> doUpdate(id, source, expectedVersion));
+        }
+        return retryOnConflict(() -> doUpdate(id, source, null));
+    }
+
+    @CacheEvict(cacheNames = TaskGroupService.GROUPS_CACHE, allEntries = true, condition = "#result?.group != null")
+    public Optional<Task> toggle(final int id) {
+        return retryOnConflict(() -> doToggle(id));
+    }
+
+    /**
+     * Deletes the task and leaves a tombstone behind, so syncing clients learn about it.
+     *
+     * @return false when there is no such task
+     */
+    @CacheEvict(cacheNames = TaskGroupService.GROUPS_CACHE, allEntries = true)
+    public boolean delete(final int id) {
+        return retryOnConflict(() -> doDelete(id));
+    }
+
+    /**
+     * Validates every task on its own and inserts the valid ones in JDBC batches.
+     *
+     * @return one result per source task, in the same order
+     */
+    @Transactional
+    @CacheEvict(cacheNames = TaskGroupService.GROUPS_CACHE, allEntries = true,
+            condition = "#toCreate.?[group != null].size() > 0")
+    public List<TaskBatchItemReadModel> createAll(final List<Task> toCreate) {
+        var results = new ArrayList<TaskBatchItemReadModel>(toCreate.size());
+        var valid = new ArrayList<Task>(toCreate.size());
+        for (var task : toCreate) {
+            var violations = validator.validate(task);
+            if (violations.isEmpty()) {
+                valid.add(task);
+                results.add(null);
+            } else {
+                results.add(new TaskBatchItemReadModel(results.size(), null, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.toList())));
+            }
+        }
+        repository.insertAll(valid);
+        valid.stream()
+                .filter(task -> task.getGroup() != null)
+                .collect(Collectors.groupingBy(task -> task.getGroup().getId()))
+                .forEach((groupId, tasks) -> {
+                    int undone = (int) tasks.stream().filter(task -> !task.isDone()).count();
+                    groupRepository.updateCounters(groupId, tasks.size(), undone);
+                    tasks.stream()
+                            .map(Task::getDeadline)
+                            .filter(Objects::nonNull)
+                            .max(LocalDateTime::compareTo)
+                            .ifPresent(deadline -> groupRepository.raiseLatestDeadline(groupId, deadline));
+                });
+
+        valid.forEach(task -> eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task)));
+
+        var inserted = valid.iterator();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, new TaskBatchItemReadModel(i, inserted.next().getId(), List.of()));
+            }
+        }
+        return results;
+    }
+
+    private Optional<Task> doUpdate(final int id, final Task source, final Integer expectedVersion) {
+        return repository.findById(id)
+                .map(task -> {
+                    if (expectedVersion != null && task.getVersion() != expectedVersion) {
+                        throw new ObjectOptimisticLockingFailureException(Task.class, id);
+                    }
+                    var previousGroup = task.getGroup();
+                    boolean wasDone = task.isDone();
+                    boolean hadDeadline = task.getDeadline() != null;
+                    task.updateFrom(source);
+                    // the group updates flush the task first, so the task row is locked before the group row,
+                    // in the same order as toggle does it
+                    if (previousGroup != null) {
+                        groupRepository.updateCounters(previousGroup.getId(), -1, wasDone ? 0 : -1);
+                        if (hadDeadline) {
+                            groupRepository.recalculateLatestDeadline(previousGroup.getId());
+                        }
+                    }
+                    addToGroup(task);
+                    eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, task));
+                    return task;
+                });
+    }
+
+    private boolean doDelete(final int id) {
+        return repository.findById(id)
+                .map(task -> {
+                    repository.delete(task);
+                    // the task row is locked before the group row, as in the other writes,
+                    // and the latest deadline is recalculated without it
+                    entityManager.flush();
+                    if (task.getGroup() != null) {
+                        int groupId = task.getGroup().getId();
+                        groupRepository.updateCounters(groupId, -1, task.isDone() ? 0 : -1);
+                        if (task.getDeadline() != null) {
+                            groupRepository.recalculateLatestDeadline(groupId);
+                        }
+                    }
+                    tombstoneRepository.save(new TaskTombstone(id, LocalDateTime.now()));
+                    eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, task));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private Optional<Task> doToggle(final int id) {
+        if (repository.toggleDone(id, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return repository.findById(id)
+                .map(task -> {
+                    if (task.getGroup() != null) {
+                        groupRepository.updateCounters(task.getGroup().getId(), 0, task.isDone() ? -1 : 1);
+                    }
+                    eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.TOGGLED, task));
+                    return task;
+                });
+    }
+
+    /**
+     * Runs the action in its own transaction, starting over when it loses a race with a concurrent writer.
+     * Attempts are spread with a short random backoff, so the same writers don't collide again right away.
+     * Within a caller's transaction there is nothing to start over, so the action just joins it.
+     */
+    private <T> T retryOnConflict(final Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Retrying after conflict, attempt {}: {}", attempt, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    private static void backOff(final int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(BACKOFF_MILLIS * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+
+    private void addToGroup(final Task task) {
+        if (task.getGroup() == null) {
+            return;
+        }
+        int groupId = task.getGroup().getId();
+        groupRepository.updateCounters(groupId, 1, task.isDone() ? 0 : 1);
+        if (task.getDeadline() != null) {
+            groupRepository.raiseLatestDeadline(groupId, task.getDeadline());
+        }
+    }
+
 }
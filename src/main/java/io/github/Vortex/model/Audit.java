@@ -10,9 +10,19 @@ public class Audit {
     private LocalDateTime createdOn;
     private LocalDateTime updatedOn;
 
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    public LocalDateTime getUpdatedOn() {
+        return updatedOn;
+    }
+
+    // a new row counts as changed as well, so it shows up among the changes since any earlier moment
     @PrePersist
     void prePersist() {
         createdOn = LocalDateTime.now();
+        updatedOn = createdOn;
     }
 
     @PreUpdate
@@ -1,12 +1,23 @@
 package io.github.Vortex.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Project.CACHE_REGION)
 @Table(name = "PROJECTS")
+@NamedEntityGraph(name = Project.WITH_STEPS_GRAPH, attributeNodes = @NamedAttributeNode("steps"))
+@NamedEntityGraph(name = Project.WITH_GROUPS_GRAPH, attributeNodes = @NamedAttributeNode("groups"))
 public class Project {
+    public static final String CACHE_REGION = "project";
+    public static final String STEPS_CACHE_REGION = "project-steps";
+    public static final String WITH_STEPS_GRAPH = "Project.withSteps";
+    public static final String WITH_GROUPS_GRAPH = "Project.withGroups";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
@@ -15,6 +26,7 @@ public class Project {
     @OneToMany(mappedBy = "project")
     private Set<TaskGroup> groups;
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "project") //tutaj
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Project.STEPS_CACHE_REGION)
     private Set<ProjectStep> steps;
 
     public Project() {
@@ -25,6 +37,10 @@ public class Project {
         return id;
     }
 
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -1,12 +1,35 @@
 package io.github.Vortex.model;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Every view loads the collections it renders up front; anything else touched later is batch-fetched
+ * ({@code hibernate.default_batch_fetch_size}), so the number of queries doesn't grow with the number of projects.
+ */
 public interface ProjectRepository {
+    /**
+     * List view: the projects alone, their collections stay lazy.
+     */
     List<Project> findAll();
 
+    /**
+     * All the projects with their steps, including projects without any.
+     */
+    List<Project> findAllWithSteps();
+
+    /**
+     * All the projects with their groups and the groups' aggregates, but not the groups' tasks.
+     */
+    List<Project> findAllWithGroups();
+
     Optional<Project> findById(Integer id);
 
+    /**
+     * Given projects with their steps fetched in the same query.
+     */
+    List<Project> findAllWithStepsByIdIn(Collection<Integer> ids);
+
     Project save(Project entity);
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 package io.github.Vortex.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProjectStep.CACHE_REGION)
 @Table(name = "PROJECT_STEPS")
 public class ProjectStep {
+    public static final String CACHE_REGION = "project-step";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
     @NotBlank(message = "Project step's description must be not empty")
     private String description;
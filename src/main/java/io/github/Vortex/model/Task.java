@@ -5,7 +5,11 @@ import javax.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "tasks_done_idx", columnList = "done"),
+        @Index(name = "tasks_group_done_idx", columnList = "task_group_id, done"),
+        @Index(name = "tasks_updated_on_idx", columnList = "updatedOn, id")
+})
 public class Task {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -14,6 +18,8 @@ public class Task {
     private String description;
     private boolean done;
     private LocalDateTime deadline;
+    @Version
+    private int version;
     @Embedded
     private Audit audit = new Audit();
     @ManyToOne
@@ -67,6 +73,10 @@ public class Task {
         this.deadline = deadline;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public Audit getAudit() {
         return audit;
     }
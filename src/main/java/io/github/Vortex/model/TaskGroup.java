@@ -2,10 +2,12 @@ package io.github.Vortex.model;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
+import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "task_groups")
+@Table(name = "task_groups", indexes = @Index(name = "task_groups_project_done_idx", columnList = "project_id, done"))
 public class TaskGroup {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -13,6 +15,14 @@ public class TaskGroup {
     @NotBlank(message = "Task group's description must not be empty")
     private String description;
     private boolean done;
+    @Version
+    private int version;
+    /**
+     * Aggregates of the group's tasks, kept up to date by the task write paths.
+     */
+    private int taskCount;
+    private int undoneCount;
+    private LocalDateTime latestDeadline;
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "group")
     private Set<Task> tasks;
     @ManyToOne
@@ -46,12 +56,53 @@ public class TaskGroup {
         this.done = done;
     }
 
+    /**
+     * Bumped on every change of the group, including its aggregates.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     public Set<Task> getTasks() {
         return tasks;
     }
 
+    /**
+     * Also recalculates the aggregates from the given tasks.
+     */
     public void setTasks(Set<Task> tasks) {
         this.tasks = tasks;
+        taskCount = tasks.size();
+        undoneCount = (int) tasks.stream().filter(task -> !task.isDone()).count();
+        latestDeadline = tasks.stream()
+                .map(Task::getDeadline)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public int getUndoneCount() {
+        return undoneCount;
+    }
+
+    public void setUndoneCount(int undoneCount) {
+        this.undoneCount = undoneCount;
+    }
+
+    public LocalDateTime getLatestDeadline() {
+        return latestDeadline;
+    }
+
+    public void setLatestDeadline(LocalDateTime latestDeadline) {
+        this.latestDeadline = latestDeadline;
     }
 
     public Project getProject() {
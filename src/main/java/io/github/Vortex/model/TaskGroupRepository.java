@@ -1,14 +1,66 @@
 package io.github.Vortex.model;
 
+import io.github.Vortex.model.projection.GroupTaskRow;
+import io.github.Vortex.model.projection.Watermark;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TaskGroupRepository {
     List<TaskGroup> findAll();
 
+    /**
+     * Groups with their tasks as flat rows ordered by group id, including groups without tasks.
+     */
+    List<GroupTaskRow> findAllGroupTaskRows();
+
     Optional<TaskGroup> findById(Integer id);
 
+    /**
+     * Version of the group without loading it, it also changes with the group's tasks.
+     */
+    Optional<Integer> findVersionById(Integer id);
+
+    /**
+     * Changes with every group created, updated or removed, including changes of their tasks.
+     */
+    Watermark findWatermark();
+
     TaskGroup save(TaskGroup entity);
 
     boolean existsByDoneIsFalseAndProject_Id(Integer projectId);
+
+    /**
+     * The given projects which already have an undone group, checked in one query.
+     */
+    List<Integer> findProjectIdsWithUndoneGroups(Collection<Integer> projectIds);
+
+    /**
+     * Inserts new groups together with their tasks in JDBC batches, aggregates are taken as they are set on the groups.
+     */
+    List<TaskGroup> insertAll(List<TaskGroup> groups);
+
+    /**
+     * Shifts the aggregates and reopens a done group which gets an undone task, all in the same row update.
+     */
+    void updateCounters(Integer id, int tasksDelta, int undoneDelta);
+
+    /**
+     * Flips the done flag in a single conditional update, a group is only marked done when it has no undone tasks.
+     *
+     * @return number of changed groups, 0 when the group doesn't exist or still has undone tasks
+     */
+    int toggleDone(Integer id);
+
+    /**
+     * Moves the latest deadline forward when the given one is later.
+     */
+    void raiseLatestDeadline(Integer id, LocalDateTime deadline);
+
+    /**
+     * Recalculates the latest deadline from the group's tasks, needed only when it may have moved back.
+     */
+    void recalculateLatestDeadline(Integer id);
 }
\ No newline at end of file
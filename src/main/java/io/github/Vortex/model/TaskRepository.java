@@ -1,25 +1,77 @@
 package io.github.Vortex.model;
 
+import io.github.Vortex.model.projection.TaskSummary;
+import io.github.Vortex.model.projection.Watermark;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository {
     List<Task> findAll();
 
     Page<Task> findAll(Pageable page);
 
+    /**
+     * Keyset page: tasks with id greater than the given one, without counting all the rows.
+     */
+    Slice<Task> findByIdGreaterThan(Integer id, Pageable page);
+
     Optional<Task> findById(Integer id);
 
     boolean existsById(Integer id);
 
+    /**
+     * Version of the task without loading it.
+     */
+    Optional<Integer> findVersionById(Integer id);
+
+    /**
+     * Changes with every task created, updated or removed.
+     */
+    Watermark findWatermark();
+
     boolean existsByDoneIsFalseAndGroup_Id(Integer groupId);
 
+    /**
+     * Flips the done flag in a single statement, without loading the task.
+     *
+     * @param now stamped as the update time, from the same clock as every other write
+     * @return number of updated rows, 0 when there is no such task
+     */
+    int toggleDone(Integer id, LocalDateTime now);
+
     Task save(Task entity);
 
+    void delete(Task entity);
+
+    /**
+     * Inserts new tasks in JDBC batches and sets the generated ids on them.
+     */
+    List<Task> insertAll(List<Task> tasks);
+
     List<Task> findByDone(boolean done);
 
+    /**
+     * Page of the done or undone tasks as summaries, without counting all the matching rows.
+     */
+    Slice<TaskSummary> findSummariesByDone(boolean done, Pageable page);
+
+    long countByDone(boolean done);
+
     List<Task> findAllByGroup_Id(Integer groupId);
+
+    /**
+     * Tasks created or updated at or after the given moment, oldest change first.
+     */
+    List<Task> findChangedSince(LocalDateTime since);
+
+    /**
+     * Cursor over all the tasks, must be consumed (and closed) inside a transaction.
+     */
+    Stream<Task> streamAll();
 }
\ No newline at end of file
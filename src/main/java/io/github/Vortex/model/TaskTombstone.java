@@ -0,0 +1,31 @@
+package io.github.Vortex.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Trace of a deleted task, kept so the clients syncing changes learn about the deletion.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = @Index(name = "task_tombstones_deleted_on_idx", columnList = "deletedOn"))
+public class TaskTombstone {
+    @Id
+    private int taskId;
+    private LocalDateTime deletedOn;
+
+    protected TaskTombstone() {
+    }
+
+    public TaskTombstone(int taskId, LocalDateTime deletedOn) {
+        this.taskId = taskId;
+        this.deletedOn = deletedOn;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getDeletedOn() {
+        return deletedOn;
+    }
+}
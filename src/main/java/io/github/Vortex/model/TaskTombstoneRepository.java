@@ -0,0 +1,13 @@
+package io.github.Vortex.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskTombstoneRepository {
+    TaskTombstone save(TaskTombstone entity);
+
+    /**
+     * Tombstones of the tasks deleted at or after the given moment, oldest first.
+     */
+    List<TaskTombstone> findDeletedSince(LocalDateTime since);
+}
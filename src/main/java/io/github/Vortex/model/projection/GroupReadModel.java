@@ -1,10 +1,11 @@
 package io.github.Vortex.model.projection;
 
-import io.github.Vortex.model.Task;
 import io.github.Vortex.model.TaskGroup;
 
 import java.time.LocalDateTime;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -21,17 +22,37 @@ public class GroupReadModel {
     public GroupReadModel(TaskGroup source) {
         id = source.getId();
         description = source.getDescription();
-        source.getTasks().stream()
-                .map(Task::getDeadline)
-                .filter(Objects::nonNull)
-                .max(LocalDateTime::compareTo)
-                .ifPresent(date -> deadline = date);
-
+        deadline = source.getLatestDeadline();
         tasks = source.getTasks().stream()
                 .map(GroupTaskReadModel::new)
                 .collect(Collectors.toSet());
     }
 
+    private GroupReadModel(int id, String description, LocalDateTime deadline) {
+        this.id = id;
+        this.description = description;
+        this.deadline = deadline;
+        tasks = new HashSet<>();
+    }
+
+    /**
+     * Assembles read models in a single pass over rows ordered by group id.
+     */
+    public static List<GroupReadModel> fromRows(List<GroupTaskRow> rows) {
+        var result = new ArrayList<GroupReadModel>();
+        GroupReadModel current = null;
+        for (var row : rows) {
+            if (current == null || current.id != row.getGroupId()) {
+                current = new GroupReadModel(row.getGroupId(), row.getGroupDescription(), row.getGroupDeadline());
+                result.add(current);
+            }
+            if (row.hasTask()) {
+                current.tasks.add(new GroupTaskReadModel(row.getTaskDescription(), row.isTaskDone()));
+            }
+        }
+        return result;
+    }
+
     public String getDescription() {
         return description;
     }
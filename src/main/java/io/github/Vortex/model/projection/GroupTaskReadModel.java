@@ -11,6 +11,11 @@ public class GroupTaskReadModel {
         done = source.isDone();
     }
 
+    public GroupTaskReadModel(String description, boolean done) {
+        this.description = description;
+        this.done = done;
+    }
+
     public String getDescription() {
         return description;
     }
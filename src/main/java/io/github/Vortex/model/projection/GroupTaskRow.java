@@ -0,0 +1,52 @@
+package io.github.Vortex.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the flat "group left join tasks" query. Task columns are null for a group without tasks.
+ */
+public class GroupTaskRow {
+    private final int groupId;
+    private final String groupDescription;
+    private final LocalDateTime groupDeadline;
+    private final Integer taskId;
+    private final String taskDescription;
+    private final Boolean taskDone;
+
+    public GroupTaskRow(int groupId, String groupDescription, LocalDateTime groupDeadline,
+                        Integer taskId, String taskDescription, Boolean taskDone) {
+        this.groupId = groupId;
+        this.groupDescription = groupDescription;
+        this.groupDeadline = groupDeadline;
+        this.taskId = taskId;
+        this.taskDescription = taskDescription;
+        this.taskDone = taskDone;
+    }
+
+    public int getGroupId() {
+        return groupId;
+    }
+
+    public String getGroupDescription() {
+        return groupDescription;
+    }
+
+    public LocalDateTime getGroupDeadline() {
+        return groupDeadline;
+    }
+
+    public String getTaskDescription() {
+        return taskDescription;
+    }
+
+    /**
+     * The done column is nullable, a task without it counts as undone - as in the group's undone count.
+     */
+    public boolean isTaskDone() {
+        return Boolean.TRUE.equals(taskDone);
+    }
+
+    public boolean hasTask() {
+        return taskId != null;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.Vortex.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One group to instantiate from a project template.
+ */
+public class ProjectGroupWriteModel {
+    private int projectId;
+    private LocalDateTime deadline;
+
+    public ProjectGroupWriteModel() {
+    }
+
+    public ProjectGroupWriteModel(final int projectId, final LocalDateTime deadline) {
+        this.projectId = projectId;
+        this.deadline = deadline;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+}
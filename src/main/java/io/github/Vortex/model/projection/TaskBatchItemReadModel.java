@@ -0,0 +1,43 @@
+package io.github.Vortex.model.projection;
+
+import java.util.List;
+
+public class TaskBatchItemReadModel {
+    private int index;
+    private Integer id;
+    private List<String> errors;
+
+    public TaskBatchItemReadModel(int index, Integer id, List<String> errors) {
+        this.index = index;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isCreated() {
+        return id != null;
+    }
+}
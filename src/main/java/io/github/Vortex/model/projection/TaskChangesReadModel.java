@@ -0,0 +1,42 @@
+package io.github.Vortex.model.projection;
+
+import java.util.List;
+
+/**
+ * Tasks changed and deleted since a sync token, together with the token to ask with next time.
+ */
+public class TaskChangesReadModel {
+    private List<TaskReadModel> changed;
+    private List<Integer> deleted;
+    private String next;
+
+    public TaskChangesReadModel(List<TaskReadModel> changed, List<Integer> deleted, String next) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.next = next;
+    }
+
+    public List<TaskReadModel> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<TaskReadModel> changed) {
+        this.changed = changed;
+    }
+
+    public List<Integer> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Integer> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.Vortex.model.projection;
+
+import io.github.Vortex.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wire view of a task: its own columns plus the id of its group, never the group itself,
+ * so serializing it doesn't walk into the group's tasks or its project.
+ */
+public class TaskReadModel {
+    private int id;
+    private String description;
+    private boolean done;
+    private LocalDateTime deadline;
+    private Integer groupId;
+
+    public TaskReadModel(Task source) {
+        id = source.getId();
+        description = source.getDescription();
+        done = source.isDone();
+        deadline = source.getDeadline();
+        groupId = source.getGroup() == null ? null : source.getGroup().getId();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+
+    public Integer getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Integer groupId) {
+        this.groupId = groupId;
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.Vortex.model.projection;
+
+/**
+ * Closed projection for list views - only these columns are selected and nothing else of the task is loaded.
+ */
+public interface TaskSummary {
+    int getId();
+
+    String getDescription();
+}
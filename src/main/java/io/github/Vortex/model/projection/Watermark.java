@@ -0,0 +1,36 @@
+package io.github.Vortex.model.projection;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cheap aggregate over a whole table which changes whenever any of its rows is added, removed or updated.
+ */
+public class Watermark {
+    private final long count;
+    private final long versionSum;
+    private final LocalDateTime lastUpdate;
+
+    public Watermark(final Long count, final Long versionSum, final LocalDateTime lastUpdate) {
+        this.count = count == null ? 0 : count;
+        this.versionSum = versionSum == null ? 0 : versionSum;
+        this.lastUpdate = lastUpdate;
+    }
+
+    public Watermark(final Long count, final Long versionSum) {
+        this(count, versionSum, null);
+    }
+
+    /**
+     * @return the watermark as a short token, e.g. for an ETag
+     */
+    public String tag() {
+        var result = Long.toString(count, Character.MAX_RADIX) + "." + Long.toString(versionSum, Character.MAX_RADIX);
+        if (lastUpdate == null) {
+            return result;
+        }
+        var instant = lastUpdate.toInstant(ZoneOffset.UTC);
+        return result + "." + Long.toString(instant.getEpochSecond(), Character.MAX_RADIX)
+                + "." + Integer.toString(instant.getNano(), Character.MAX_RADIX);
+    }
+}
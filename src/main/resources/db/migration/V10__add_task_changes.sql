@@ -0,0 +1,7 @@
+update tasks set updated_on = coalesce(created_on, current_timestamp) where updated_on is null;
+create index tasks_updated_on_idx on tasks (updated_on, id);
+create table task_tombstones (
+    task_id int primary key,
+    deleted_on datetime not null
+);
+create index task_tombstones_deleted_on_idx on task_tombstones (deleted_on);
@@ -0,0 +1,8 @@
+alter table task_groups add column task_count int not null default 0;
+alter table task_groups add column undone_count int not null default 0;
+alter table task_groups add column latest_deadline datetime null;
+
+update task_groups
+set task_count      = (select count(*) from tasks where tasks.task_group_id = task_groups.id),
+    undone_count    = (select count(*) from tasks where tasks.task_group_id = task_groups.id and coalesce(tasks.done, false) = false),
+    latest_deadline = (select max(deadline) from tasks where tasks.task_group_id = task_groups.id);
@@ -0,0 +1,2 @@
+alter table tasks add column version int not null default 0;
+alter table task_groups add column version int not null default 0;
@@ -0,0 +1,3 @@
+create index tasks_done_idx on tasks (done);
+create index tasks_group_done_idx on tasks (task_group_id, done);
+create index task_groups_project_done_idx on task_groups (project_id, done);
@@ -0,0 +1,95 @@
+(async function() {
+    const main = document.querySelector('main');
+    const params = new URLSearchParams(location.search);
+    const group = params.has('group') ? Number(params.get('group')) : null;
+    const items = new Map();
+    let list = null;
+    let pending = [];
+
+    // changes arriving while the full list loads are replayed on top of it
+    const changes = new EventSource('/tasks/events');
+    changes.addEventListener('position', () => list || load());
+    changes.addEventListener('reset', load);
+    changes.addEventListener('task', (event) => {
+        const task = JSON.parse(event.data);
+        if (pending) {
+            pending.push(task);
+        } else {
+            apply(task);
+        }
+    });
+
+    async function load() {
+        pending = pending || [];
+        const response = group !== null ? await fetch(`/groups/${group}`) : await fetch('/tasks');
+        if (response.ok) {
+            const tasks = await response.json();
+            const fresh = document.createElement('ul');
+            items.clear();
+            tasks.forEach(task => {
+                const item = createTask(task);
+                items.set(task.id, item);
+                fresh.appendChild(item);
+            });
+            list ? list.replaceWith(fresh) : main.prepend(fresh);
+            list = fresh;
+        }
+        const replayed = pending;
+        pending = null;
+        replayed.forEach(apply);
+    }
+
+    function apply(task) {
+        if (!list) {
+            return;
+        }
+        const existing = items.get(task.id);
+        if (task.type === 'DELETED' || (group !== null && task.groupId !== group)) {
+            if (existing) {
+                existing.remove();
+                items.delete(task.id);
+            }
+            return;
+        }
+        const item = createTask(task);
+        existing ? existing.replaceWith(item) : list.appendChild(item);
+        items.set(task.id, item);
+    }
+
+    const form = document.querySelector('form');
+    form.addEventListener('submit', async (event) => {
+        event.preventDefault();
+        const resp = await fetch('/tasks', {
+            method: 'post',
+            headers: {
+                'Accept': 'application/json',
+                'Content-Type': 'application/json'
+            },
+            body: JSON.stringify({
+                description: form.elements.description.value,
+                deadline: form.elements.deadline.value && form.elements.deadline.value + ':00.000'
+            })
+        });
+        if (resp.ok) {
+            form.reset();
+        }
+    });
+
+    function createTask({ id, description, deadline, done }) {
+        const result = document.createElement('li');
+        result.innerHTML = `
+            <label>
+                <input type="checkbox" ${done ? ' checked' : ''}/>
+                ${description}
+                <small>${deadline && deadline.replace('T', ' ')}</small>
+            </label>
+        `;
+        result.querySelector('input').addEventListener('click', async (e) => {
+            const response = await fetch(`/tasks/${id}`, { method: 'PATCH' });
+            if (!response.ok) {
+                e.target.checked = !e.target.checked;
+            }
+        });
+        return result;
+    }
+})();
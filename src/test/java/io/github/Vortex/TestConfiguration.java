@@ -2,24 +2,32 @@ package io.github.Vortex;
 
 import io.github.Vortex.model.Task;
 import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.projection.TaskSummary;
+import io.github.Vortex.model.projection.Watermark;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Configuration
 class TestConfiguration {
     @Bean
     @Primary
     @Profile("!integration")
-    DataSource e2eTestDataSource() {
-        var result = new DriverManagerDataSource("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1", "sa", "");
+    DataSource e2eTestDataSource(@Value("${test.datasource.url:jdbc:h2:mem:test;DB_CLOSE_DELAY=-1}") String url) {
+        var result = new DriverManagerDataSource(url, "sa", "");
         result.setDriverClassName("org.h2.Driver");
         return result;
     }
@@ -41,6 +49,17 @@ class TestConfiguration {
                 return null;
             }
 
+            @Override
+            public Slice<Task> findByIdGreaterThan(final Integer id, final Pageable page) {
+                var content = tasks.values().stream()
+                        .filter(task -> task.getId() > id)
+                        .sorted(Comparator.comparingInt(Task::getId))
+                        .limit(page.getPageSize() + 1L)
+                        .collect(Collectors.toList());
+                boolean hasNext = content.size() > page.getPageSize();
+                return new SliceImpl<>(hasNext ? content.subList(0, page.getPageSize()) : content, page, hasNext);
+            }
+
             @Override
             public Optional<Task> findById(final Integer id) {
                 return Optional.ofNullable(tasks.get(id));
@@ -51,11 +70,32 @@ class TestConfiguration {
                 return tasks.containsKey(id);
             }
 
+            @Override
+            public Optional<Integer> findVersionById(final Integer id) {
+                return findById(id).map(Task::getVersion);
+            }
+
+            @Override
+            public Watermark findWatermark() {
+                return new Watermark((long) tasks.size(),
+                        tasks.values().stream().mapToLong(Task::getVersion).sum());
+            }
+
             @Override
             public boolean existsByDoneIsFalseAndGroup_Id(final Integer groupId) {
                 return false;
             }
 
+            @Override
+            public int toggleDone(final Integer id, final LocalDateTime now) {
+                var task = tasks.get(id);
+                if (task == null) {
+                    return 0;
+                }
+                task.setDone(!task.isDone());
+                return 1;
+            }
+
             @Override
             public Task save(final Task entity) {
                 int key = tasks.size() + 1;
@@ -72,6 +112,27 @@ class TestConfiguration {
                 return tasks.get(key);
             }
 
+            @Override
+            public void delete(final Task entity) {
+                tasks.remove(entity.getId());
+            }
+
+            @Override
+            public List<Task> insertAll(final List<Task> entities) {
+                entities.forEach(this::save);
+                return entities;
+            }
+
+            @Override
+            public Slice<TaskSummary> findSummariesByDone(final boolean done, final Pageable page) {
+                return null;
+            }
+
+            @Override
+            public long countByDone(final boolean done) {
+                return tasks.values().stream().filter(task -> task.isDone() == done).count();
+            }
+
             @Override
             public List<Task> findByDone(final boolean done) {
                 return null;
@@ -81,6 +142,16 @@ class TestConfiguration {
             public List<Task> findAllByGroup_Id(final Integer groupId) {
                 return List.of();
             }
+
+            @Override
+            public List<Task> findChangedSince(final LocalDateTime since) {
+                return List.of();
+            }
+
+            @Override
+            public Stream<Task> streamAll() {
+                return tasks.values().stream();
+            }
         };
     }
 }
@@ -0,0 +1,82 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.logic.ProjectService;
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroup;
+import io.github.Vortex.model.TaskGroupRepository;
+import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.projection.ProjectGroupWriteModel;
+import io.github.Vortex.model.projection.ProjectWriteModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The JDBC batch inserts against the schema Hibernate generates, as in the prod profile, instead of the migrated one.
+ */
+@SpringBootTest(properties = {
+        "test.datasource.url=jdbc:h2:mem:hibernate-schema;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class BatchInsertSchemaIntegrationTest {
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskGroupRepository groupRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Test
+    @DisplayName("should insert tasks in batches")
+    void insertAllTasks_worksOnGeneratedSchema() {
+        //when
+        var result = taskRepository.insertAll(List.of(new Task("foo", LocalDateTime.now())));
+
+        //then
+        assertThat(taskRepository.findById(result.get(0).getId())).get()
+                .extracting(Task::getVersion).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("should insert groups with their tasks in batches")
+    void insertAllGroups_worksOnGeneratedSchema() {
+        //given
+        var group = new TaskGroup();
+        group.setDescription("group");
+        group.setTasks(Set.of(new Task("foo", LocalDateTime.now(), group)));
+
+        //when
+        int id = groupRepository.insertAll(List.of(group)).get(0).getId();
+
+        //then
+        assertThat(groupRepository.findById(id)).get()
+                .extracting(TaskGroup::getVersion, TaskGroup::getTaskCount).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("should create groups from projects")
+    void createGroups_worksOnGeneratedSchema() {
+        //given
+        var project = new ProjectWriteModel();
+        project.setDescription("project");
+        project.getSteps().get(0).setDescription("step");
+        int projectId = projectService.save(project).getId();
+
+        //when
+        var result = projectService.createGroups(List.of(new ProjectGroupWriteModel(projectId, LocalDateTime.now())));
+
+        //then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTasks()).hasSize(1);
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroup;
+import io.github.Vortex.model.TaskGroupRepository;
+import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.TaskTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the finders, captures the SQL they actually execute and asks H2 to EXPLAIN it,
+ * so a mapping or index change which turns a lookup into a full table scan fails here.
+ */
+@SpringBootTest
+class FinderQueryPlanIntegrationTest {
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskGroupRepository groupRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int groupId;
+    private int taskId;
+
+    @BeforeEach
+    void setUp() {
+        var group = new TaskGroup();
+        group.setDescription("planned");
+        groupId = groupRepository.save(group).getId();
+        taskId = taskRepository.save(new Task("planned", LocalDateTime.now(), group)).getId();
+    }
+
+    // the database is shared with the other tests, which don't expect grouped tasks
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tasks where id = ?", taskId);
+        jdbcTemplate.update("delete from task_groups where id = ?", groupId);
+    }
+
+    @Test
+    @DisplayName("task finders should use indexes")
+    void taskFinders_useIndexes() {
+        assertNoTableScan(() -> taskRepository.findByDone(true));
+        assertNoTableScan(() -> taskRepository.findSummariesByDone(true, PageRequest.of(0, 10)));
+        assertNoTableScan(() -> taskRepository.countByDone(true));
+        assertNoTableScan(() -> taskRepository.existsByDoneIsFalseAndGroup_Id(groupId));
+        assertNoTableScan(() -> taskRepository.findAllByGroup_Id(groupId));
+        assertNoTableScan(() -> taskRepository.findById(taskId));
+        assertNoTableScan(() -> taskRepository.findVersionById(taskId));
+        assertNoTableScan(() -> taskRepository.existsById(taskId));
+        assertNoTableScan(() -> taskRepository.findByIdGreaterThan(taskId, PageRequest.of(0, 10)));
+        assertNoTableScan(() -> taskRepository.findChangedSince(LocalDateTime.now()));
+        assertNoTableScan(() -> tombstoneRepository.findDeletedSince(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("group finders should use indexes")
+    void groupFinders_useIndexes() {
+        assertNoTableScan(() -> groupRepository.existsByDoneIsFalseAndProject_Id(1));
+        assertNoTableScan(() -> groupRepository.findProjectIdsWithUndoneGroups(List.of(1, 2)));
+        assertNoTableScan(() -> groupRepository.findById(groupId));
+        assertNoTableScan(() -> groupRepository.findVersionById(groupId));
+    }
+
+    private void assertNoTableScan(Runnable finder) {
+        Map<String, Long> shapes;
+        try (var sql = SqlStatistics.open(true)) {
+            finder.run();
+            shapes = sql.topShapes(Integer.MAX_VALUE);
+        }
+        assertThat(shapes).isNotEmpty();
+        var plans = shapes.keySet().stream()
+                .collect(Collectors.toMap(shape -> shape, this::explain));
+        assertThat(plans).allSatisfy((shape, plan) -> assertThat(plan)
+                .as("plan of %s", shape)
+                .doesNotContain(TABLE_SCAN));
+    }
+
+    // parameter values don't change H2's plan, any value of a convertible type does
+    private String explain(String sql) {
+        return jdbcTemplate.execute("explain " + sql, (PreparedStatement statement) -> {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setInt(i, 1);
+            }
+            try (var result = statement.executeQuery()) {
+                var plan = new StringBuilder();
+                while (result.next()) {
+                    plan.append(result.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
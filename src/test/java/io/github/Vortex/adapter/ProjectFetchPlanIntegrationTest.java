@@ -0,0 +1,129 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.Project;
+import io.github.Vortex.model.ProjectRepository;
+import io.github.Vortex.model.ProjectStep;
+import io.github.Vortex.model.TaskGroup;
+import io.github.Vortex.model.TaskGroupRepository;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements needed to render the project views, with the second-level cache emptied up front.
+ */
+@SpringBootTest
+class ProjectFetchPlanIntegrationTest {
+    @Autowired
+    private ProjectRepository repository;
+
+    @Autowired
+    private TaskGroupRepository groupRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size}")
+    private int batchSize;
+
+    private int withoutStepsId;
+
+    @BeforeEach
+    void setUp() {
+        repository.save(project("first", "a", "b"));
+        withoutStepsId = repository.save(project("empty")).getId();
+        var withGroup = repository.save(project("grouped", "c"));
+        var group = new TaskGroup();
+        group.setDescription("group");
+        group.setProject(withGroup);
+        groupRepository.save(group);
+
+        var sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("should load all projects with their steps in one query, including projects without steps")
+    void findAllWithSteps_takesOneStatement() {
+        //when
+        var projects = new ArrayList<Project>();
+        int statements = render(repository::findAllWithSteps, project -> project.getSteps().size(), projects);
+
+        //then
+        assertThat(statements).isEqualTo(1);
+        assertThat(projects).extracting(Project::getId).contains(withoutStepsId);
+    }
+
+    @Test
+    @DisplayName("should batch-fetch steps touched after the list view")
+    void findAll_batchFetchesSteps() {
+        //when
+        var projects = new ArrayList<Project>();
+        int statements = render(repository::findAll, project -> project.getSteps().size(), projects);
+
+        //then
+        int batches = (projects.size() + batchSize - 1) / batchSize;
+        assertThat(statements).isEqualTo(1 + batches);
+    }
+
+    @Test
+    @DisplayName("should load all projects with their group aggregates in one query")
+    void findAllWithGroups_takesOneStatement() {
+        //when
+        var projects = new ArrayList<Project>();
+        int statements = render(repository::findAllWithGroups,
+                project -> project.getGroups().forEach(TaskGroup::getUndoneCount), projects);
+
+        //then
+        assertThat(statements).isEqualTo(1);
+        assertThat(projects).anySatisfy(project -> assertThat(project.getGroups()).hasSize(1));
+    }
+
+    /**
+     * Loads and walks the view in one transaction, like the template does with the session kept open.
+     *
+     * @return number of statements it took
+     */
+    private int render(Supplier<List<Project>> view, Consumer<Project> touch, List<Project> rendered) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            try (var sql = SqlStatistics.open(false)) {
+                rendered.addAll(view.get());
+                rendered.forEach(touch);
+                return sql.getStatements();
+            }
+        });
+    }
+
+    private Project project(String description, String... steps) {
+        var project = new Project();
+        project.setDescription(description);
+        var projectSteps = new HashSet<ProjectStep>();
+        for (var step : steps) {
+            var projectStep = new ProjectStep();
+            projectStep.setDescription(step);
+            projectStep.setDaysToDeadline(-1);
+            projectStep.setProject(project);
+            projectSteps.add(projectStep);
+        }
+        project.setSteps(projectSteps);
+        return project;
+    }
+}
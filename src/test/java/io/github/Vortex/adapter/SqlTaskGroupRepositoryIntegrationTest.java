@@ -0,0 +1,54 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.TaskGroup;
+import io.github.Vortex.model.TaskGroupRepository;
+import io.github.Vortex.model.projection.GroupTaskRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SqlTaskGroupRepositoryIntegrationTest {
+    @Autowired
+    private TaskGroupRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int groupId;
+
+    // the database is shared with the other tests, which count the groups
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tasks where task_group_id = ?", groupId);
+        jdbcTemplate.update("delete from task_groups where id = ?", groupId);
+    }
+
+    @Test
+    @DisplayName("should keep a task with a null done column among the group's rows")
+    void findAllGroupTaskRows_taskWithNullDone_isKept() {
+        //given
+        var group = new TaskGroup();
+        group.setDescription("nullable");
+        groupId = repository.save(group).getId();
+        jdbcTemplate.update("insert into tasks (description, done, task_group_id) values ('no flag', null, ?)", groupId);
+
+        //when
+        var rows = repository.findAllGroupTaskRows().stream()
+                .filter(row -> row.getGroupId() == groupId)
+                .collect(Collectors.toList());
+
+        //then
+        assertThat(rows).singleElement()
+                .matches(GroupTaskRow::hasTask)
+                .matches(row -> !row.isTaskDone())
+                .extracting(GroupTaskRow::getTaskDescription).isEqualTo("no flag");
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.Vortex.adapter;
+
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SqlTaskRepositoryIntegrationTest {
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int taskId;
+
+    // the database is shared with the other tests, which count the tasks
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tasks where id = ?", taskId);
+    }
+
+    @Test
+    @DisplayName("should stamp a toggled task with the given time, not the database clock")
+    void toggleDone_stampsGivenTime() {
+        //given
+        taskId = repository.save(new Task("foo", LocalDateTime.now())).getId();
+        var stamp = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+        //when
+        int updated = repository.toggleDone(taskId, stamp);
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select updated_on from tasks where id = ?", LocalDateTime.class, taskId))
+                .isEqualTo(stamp);
+    }
+}
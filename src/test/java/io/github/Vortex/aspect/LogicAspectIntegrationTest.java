@@ -0,0 +1,56 @@
+package io.github.Vortex.aspect;
+
+import io.github.Vortex.logic.TaskGroupService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@SpringBootTest
+class LogicAspectIntegrationTest {
+    @Autowired
+    private TaskGroupService service;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @DisplayName("should time service calls per outcome and count exceptions")
+    void serviceCalls_timedPerOutcome() {
+        //given
+        long readsBefore = timerCount("readAll", "success");
+        long failedTogglesBefore = timerCount("toggleGroup", "error");
+        double exceptionsBefore = exceptionCount();
+
+        //when
+        service.readAll();
+        service.readAll();
+        var exception = catchThrowable(() -> service.toggleGroup(-1));
+
+        //then
+        assertThat(exception).isInstanceOf(IllegalArgumentException.class);
+        assertThat(timerCount("readAll", "success")).isEqualTo(readsBefore + 2);
+        assertThat(timerCount("toggleGroup", "error")).isEqualTo(failedTogglesBefore + 1);
+        assertThat(exceptionCount()).isEqualTo(exceptionsBefore + 1);
+    }
+
+    private long timerCount(String method, String outcome) {
+        Timer timer = registry.find(LogicAspect.TIMER_NAME)
+                .tags("class", "TaskGroupService", "method", method, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double exceptionCount() {
+        Counter counter = registry.find(LogicAspect.EXCEPTIONS_NAME)
+                .tags("method", "toggleGroup", "exception", "IllegalArgumentException")
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.Vortex.controler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.thymeleaf.spring5.templateresolver.SpringResourceTemplateResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the shared test database is already migrated, prod's create-drop would wipe it for the other tests
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@ActiveProfiles("prod")
+class ProdTemplateCacheTest {
+    @Autowired
+    private SpringResourceTemplateResolver templateResolver;
+
+    @Test
+    @DisplayName("should parse templates once in the prod profile")
+    void prodProfile_cachesTemplates() {
+        assertThat(templateResolver.isCacheable()).isTrue();
+        assertThat(templateResolver.getCacheTTLMs()).isNull();
+    }
+}
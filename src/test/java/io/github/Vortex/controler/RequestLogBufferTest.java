@@ -0,0 +1,33 @@
+package io.github.Vortex.controler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogBufferTest {
+    @Test
+    @DisplayName("should hand entries to the sink in order and drop them when full")
+    void offer_fullBuffer_dropsAndDrainsInOrder() {
+        //given
+        var buffer = new RequestLogBuffer(3);
+        var drained = new ArrayList<String>();
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            buffer.offer("GET", "/tasks/" + i, 200, i);
+        }
+        int firstDrain = buffer.drain((method, path, status, duration) -> drained.add(method + " " + path));
+        boolean acceptedAfterDrain = buffer.offer("PATCH", "/tasks/{id}", 204, 1);
+        buffer.drain((method, path, status, duration) -> drained.add(method + " " + path));
+
+        //then
+        assertThat(buffer.capacity()).isEqualTo(4);
+        assertThat(firstDrain).isEqualTo(4);
+        assertThat(buffer.dropped()).isEqualTo(1);
+        assertThat(acceptedAfterDrain).isTrue();
+        assertThat(drained).containsExactly("GET /tasks/0", "GET /tasks/1", "GET /tasks/2", "GET /tasks/3", "PATCH /tasks/{id}");
+    }
+}
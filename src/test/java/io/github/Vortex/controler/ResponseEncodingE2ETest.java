@@ -0,0 +1,120 @@
+package io.github.Vortex.controler;
+
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes on the wire as a client sees them - the JDK client neither asks for nor decodes compression by itself.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseEncodingE2ETest {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseEncodingE2ETest.class);
+    private static final Pattern VERSIONED_SCRIPT = Pattern.compile("/js/tasks-[0-9a-f]{32}\\.js");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository repo;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("should gzip large JSON lists for clients accepting it")
+    void httpGet_allTasks_isCompressed() throws Exception {
+        //given
+        for (int i = 0; i < 50; i++) {
+            repo.save(new Task("compressible task " + i, LocalDateTime.now()));
+        }
+
+        //when
+        var identity = get("/tasks", MediaType.APPLICATION_JSON_VALUE, null);
+        var gzip = get("/tasks", MediaType.APPLICATION_JSON_VALUE, "gzip");
+
+        //then
+        logger.info("GET /tasks: {} bytes, {} bytes gzipped", identity.body().length, gzip.body().length);
+        assertThat(identity.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(gzip.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(gzip.body().length).isLessThan(identity.body().length / 2);
+        assertThat(gunzip(gzip.body())).hasSameSizeAs(identity.body());
+    }
+
+    @Test
+    @DisplayName("should leave responses below the threshold uncompressed")
+    void httpGet_task_isNotCompressed() throws Exception {
+        //given
+        int id = repo.save(new Task("small", LocalDateTime.now())).getId();
+
+        //when
+        var response = get("/tasks/" + id, MediaType.APPLICATION_JSON_VALUE, "gzip");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should link scripts by content-hashed URLs cached for a year")
+    void httpGet_tasksPage_linksVersionedScript() throws Exception {
+        //when
+        var page = get("/tasks.html", MediaType.TEXT_HTML_VALUE, null);
+        var html = new String(page.body());
+        assertThat(html).containsPattern(VERSIONED_SCRIPT);
+        var matcher = VERSIONED_SCRIPT.matcher(html);
+        matcher.find();
+        var script = get(matcher.group(), "*/*", null);
+
+        //then
+        assertThat(page.statusCode()).isEqualTo(200);
+        assertThat(script.statusCode()).isEqualTo(200);
+        assertThat(script.headers().firstValue(HttpHeaders.CACHE_CONTROL)).hasValue("max-age=31536000, public");
+    }
+
+    @Test
+    @DisplayName("should make browsers revalidate static pages")
+    void httpGet_staticPage_isRevalidated() throws Exception {
+        //when
+        var page = get("/index.html", MediaType.TEXT_HTML_VALUE, null);
+
+        //then
+        assertThat(page.statusCode()).isEqualTo(200);
+        assertThat(page.headers().firstValue(HttpHeaders.CACHE_CONTROL)).hasValue("no-cache");
+        assertThat(page.headers().firstValue(HttpHeaders.LAST_MODIFIED)).isPresent();
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.Vortex.controler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.Vortex.logic.ProjectService;
+import io.github.Vortex.logic.TaskGroupService;
+import io.github.Vortex.model.ProjectStep;
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.projection.GroupTaskWriteModel;
+import io.github.Vortex.model.projection.GroupWriteModel;
+import io.github.Vortex.model.projection.ProjectWriteModel;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load generator for the REST endpoints, run on demand against the in-memory prod setup:
+ * <pre>
+ * mvn test -Dtest=TaskApiLoadTest -Dloadtest=true [-Dloadtest.concurrency=8] [-Dloadtest.requests=2000]
+ * </pre>
+ * Latency percentiles and throughput per endpoint land in {@code target/load-test/results.json}
+ * (or {@code -Dloadtest.output}), so runs from different commits can be diffed.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@ActiveProfiles("prod")
+// with a single undone group per project every POST /projects/{id} but the first would just be rejected
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "task.template.allow-multiple-tasks=true")
+class TaskApiLoadTest {
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 8);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2000);
+    private static final int SEED_TASKS = Integer.getInteger("loadtest.tasks", 200);
+    // the project page answers 200 whether the group was created or not
+    private static final String GROUP_CREATED = "Dodano grupę!";
+    private static final Path OUTPUT = Path.of(System.getProperty("loadtest.output", "target/load-test/results.json"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Autowired
+    private TaskGroupService groupService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Test
+    void loadEndpoints() throws Exception {
+        //given
+        var taskIds = new ArrayList<Integer>();
+        for (int i = 0; i < SEED_TASKS; i++) {
+            taskIds.add(repo.save(new Task("task " + i, LocalDateTime.now().plusDays(i))).getId());
+        }
+        groupService.createGroup(group());
+        int projectId = projectService.save(project()).getId();
+
+        var jsonHeaders = new HttpHeaders();
+        jsonHeaders.setAccept(List.of(MediaType.APPLICATION_JSON));
+        var formHeaders = new HttpHeaders();
+        formHeaders.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        //when
+        var results = new LinkedHashMap<String, Map<String, Object>>();
+        results.put("GET /tasks", run(i -> restTemplate.getForEntity(url("/tasks"), String.class)));
+        results.put("PATCH /tasks/{id}", run(i -> restTemplate.exchange(
+                url("/tasks/" + taskIds.get(i % taskIds.size())), HttpMethod.PATCH, null, String.class)));
+        results.put("GET /groups", run(i -> restTemplate.exchange(
+                url("/groups"), HttpMethod.GET, new HttpEntity<>(jsonHeaders), String.class)));
+        results.put("POST /projects/{id}", run(i -> {
+            var form = new LinkedMultiValueMap<String, String>();
+            form.add("deadline", "2022-02-02T10:00");
+            return restTemplate.postForEntity(url("/projects/" + projectId), new HttpEntity<>(form, formHeaders), String.class);
+        }, response -> isSuccessful(response) && response.getBody().contains(GROUP_CREATED)));
+
+        //then
+        var report = new LinkedHashMap<String, Object>();
+        report.put("concurrency", CONCURRENCY);
+        report.put("requestsPerEndpoint", REQUESTS);
+        report.put("endpoints", results);
+        Files.createDirectories(OUTPUT.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(OUTPUT.toFile(), report);
+        assertThat(results.values()).allMatch(result -> (int) result.get("errors") == 0);
+    }
+
+    private Map<String, Object> run(IntFunction<ResponseEntity<String>> request) throws InterruptedException {
+        return run(request, TaskApiLoadTest::isSuccessful);
+    }
+
+    /**
+     * @param succeeded whether a response did what was asked, a 2xx status alone may not tell
+     */
+    private Map<String, Object> run(IntFunction<ResponseEntity<String>> request,
+                                    Predicate<ResponseEntity<String>> succeeded) throws InterruptedException {
+        Histogram histogram = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(30), 3);
+        var next = new AtomicInteger();
+        var errors = new AtomicInteger();
+        var done = new CountDownLatch(CONCURRENCY);
+        var executor = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        for (int t = 0; t < CONCURRENCY; t++) {
+            executor.execute(() -> {
+                for (int i = next.getAndIncrement(); i < REQUESTS; i = next.getAndIncrement()) {
+                    long before = System.nanoTime();
+                    try {
+                        if (!succeeded.test(request.apply(i))) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                    histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - before),
+                            histogram.getHighestTrackableValue()));
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+
+        var result = new LinkedHashMap<String, Object>();
+        result.put("requests", histogram.getTotalCount());
+        result.put("errors", errors.get());
+        result.put("throughputPerSecond", histogram.getTotalCount() / seconds);
+        result.put("meanMicros", histogram.getMean());
+        result.put("p50Micros", histogram.getValueAtPercentile(50));
+        result.put("p90Micros", histogram.getValueAtPercentile(90));
+        result.put("p99Micros", histogram.getValueAtPercentile(99));
+        result.put("p999Micros", histogram.getValueAtPercentile(99.9));
+        result.put("maxMicros", histogram.getMaxValue());
+        return result;
+    }
+
+    private static boolean isSuccessful(ResponseEntity<String> response) {
+        return response.getStatusCode().is2xxSuccessful();
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    private GroupWriteModel group() {
+        var task = new GroupTaskWriteModel();
+        task.setDescription("grouped task");
+        var group = new GroupWriteModel();
+        group.setDescription("group");
+        group.setTasks(List.of(task));
+        return group;
+    }
+
+    private ProjectWriteModel project() {
+        var step = new ProjectStep();
+        step.setDescription("step");
+        step.setDaysToDeadline(-1);
+        var project = new ProjectWriteModel();
+        project.setDescription("project");
+        project.setSteps(List.of(step));
+        return project;
+    }
+}
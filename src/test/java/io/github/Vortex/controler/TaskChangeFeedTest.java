@@ -0,0 +1,146 @@
+package io.github.Vortex.controler;
+
+import io.github.Vortex.logic.TaskChangedEvent;
+import io.github.Vortex.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class TaskChangeFeedTest {
+    @Test
+    @DisplayName("should replay changes after a known token")
+    void since_knownToken_returnsMissedChanges() {
+        //given
+        var feed = new TaskChangeFeed(4, Duration.ofMinutes(1), 16, 1);
+        feed.onTaskChanged(change("foo"));
+        feed.onTaskChanged(change("bar"));
+        feed.onTaskChanged(change("baz"));
+
+        //when
+        var result = feed.since(feed.token(1));
+
+        //then
+        assertThat(result).get().asList()
+                .extracting(entry -> ((TaskChangeFeed.Entry) entry).event.getDescription())
+                .containsExactly("bar", "baz");
+    }
+
+    @Test
+    @DisplayName("should ask for a reload when changes after the token are gone or the token is foreign")
+    void since_evictedOrForeignToken_returnsEmpty() {
+        //given
+        var feed = new TaskChangeFeed(2, Duration.ofMinutes(1), 16, 1);
+        feed.onTaskChanged(change("foo"));
+        feed.onTaskChanged(change("bar"));
+        feed.onTaskChanged(change("baz"));
+
+        //when
+        var evicted = feed.since(feed.token(0));
+        var kept = feed.since(feed.token(1));
+        var foreign = feed.since("other-1");
+
+        //then
+        assertThat(evicted).isEmpty();
+        assertThat(kept).get().asList().hasSize(2);
+        assertThat(foreign).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not block writers on a stalled subscriber and drop it once it falls behind")
+    void onTaskChanged_stalledSubscriber_isDropped() {
+        //given
+        var feed = new TaskChangeFeed(16, Duration.ofMinutes(1), 2, 1);
+        var release = new CountDownLatch(1);
+        feed.subscribe(null, stalledUntil(release));
+
+        try {
+            //when
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                for (int i = 0; i < 5; i++) {
+                    feed.onTaskChanged(change("foo" + i));
+                }
+            });
+
+            //then
+            assertThat(feed.subscriberCount()).isZero();
+        } finally {
+            release.countDown();
+            feed.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should drop a subscriber when no dispatcher can take it")
+    void subscribe_dispatchersBusy_dropsSubscriber() {
+        //given
+        var feed = new TaskChangeFeed(16, Duration.ofMinutes(1), 1, 1);
+        var release = new CountDownLatch(1);
+
+        try {
+            //when
+            feed.subscribe(null, stalledUntil(release));
+            feed.subscribe(null, stalledUntil(release));
+            feed.subscribe(null, stalledUntil(release));
+
+            //then
+            assertThat(feed.subscriberCount()).isEqualTo(2);
+        } finally {
+            release.countDown();
+            feed.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should reset a reconnecting subscriber whose missed changes don't fit its buffer")
+    void subscribe_missedMoreThanBuffer_sendsReset() throws InterruptedException {
+        //given
+        var feed = new TaskChangeFeed(16, Duration.ofMinutes(1), 2, 1);
+        for (int i = 0; i < 3; i++) {
+            feed.onTaskChanged(change("foo" + i));
+        }
+        var sent = new ArrayBlockingQueue<String>(4);
+
+        try {
+            //when
+            feed.subscribe(feed.token(0), new SseEmitter() {
+                @Override
+                public void send(final SseEventBuilder builder) {
+                    sent.add(builder.build().iterator().next().getData().toString());
+                }
+            });
+
+            //then
+            assertThat(sent.poll(1, TimeUnit.SECONDS)).contains("event:" + TaskChangeFeed.RESET_EVENT);
+            assertThat(feed.subscriberCount()).isEqualTo(1);
+        } finally {
+            feed.shutdown();
+        }
+    }
+
+    private SseEmitter stalledUntil(CountDownLatch release) {
+        return new SseEmitter() {
+            @Override
+            public void send(final SseEventBuilder builder) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+    }
+
+    private TaskChangedEvent change(String description) {
+        return new TaskChangedEvent(TaskChangedEvent.Type.CREATED, new Task(description, LocalDateTime.now()));
+    }
+}
@@ -6,12 +6,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -34,4 +38,16 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().is2xxSuccessful());
     }
 
+    @Test
+    void httpGet_tasksAfter_linksNextSliceUnderContextPath() throws Exception {
+        //given
+        repo.save(new Task("foo", LocalDateTime.now()));
+        repo.save(new Task("bar", LocalDateTime.now()));
+
+        //when + then
+        mockMvc.perform(get("/app/tasks").contextPath("/app").param("after", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, startsWith("</app/tasks?after=")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("size=1")));
+    }
 }
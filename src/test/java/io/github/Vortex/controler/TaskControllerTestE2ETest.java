@@ -1,14 +1,38 @@
 package io.github.Vortex.controler;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroup;
+import io.github.Vortex.model.TaskGroupRepository;
 import io.github.Vortex.model.TaskRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -23,6 +47,12 @@ class TaskControllerTestE2ETest {
     @Autowired
     TaskRepository repo;
 
+    @Autowired
+    TaskGroupRepository groupRepo;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     @Test
     void httpGet_returnsAllTasks() {
         //given
@@ -36,6 +66,69 @@ class TaskControllerTestE2ETest {
         assertThat(result).hasSize(initial + 2);
     }
 
+    @Test
+    void httpGet_streamsAllTasksAsNdjson() {
+        //given
+        repo.save(new Task("foo", LocalDateTime.now()));
+        int expected = repo.findAll().size();
+        var headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.parseMediaType("application/x-ndjson")));
+
+        //when
+        String result = restTemplate.exchange("http://localhost:" + port + "/tasks",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class).getBody();
+
+        //then
+        assertThat(result.lines()).hasSize(expected)
+                .allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+    }
+
+    @Test
+    void httpGet_walksAllTasksWithCursor() {
+        //given
+        repo.save(new Task("foo", LocalDateTime.now()));
+        repo.save(new Task("bar", LocalDateTime.now()));
+        repo.save(new Task("baz", LocalDateTime.now()));
+        int expected = repo.findAll().size();
+
+        //when
+        int seen = 0;
+        int pages = 0;
+        String next = "/tasks?after=&size=2";
+        while (next != null) {
+            var response = restTemplate.getForEntity("http://localhost:" + port + next, Task[].class);
+            seen += response.getBody().length;
+            pages++;
+            String link = response.getHeaders().getFirst(HttpHeaders.LINK);
+            next = link == null ? null : link.substring(1, link.indexOf('>'));
+        }
+
+        //then
+        assertThat(seen).isEqualTo(expected);
+        assertThat(pages).isEqualTo((expected + 1) / 2);
+    }
+
+    @Test
+    void httpPost_batch_createsValidTasksAndReportsInvalidOnes() {
+        //given
+        int initial = repo.findAll().size();
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        String body = "{\"description\":\"foo\"}\n{\"description\":\"\"}\n{\"description\":\"bar\",\"done\":true}\n";
+
+        //when
+        List<Map<String, Object>> result = restTemplate.exchange("http://localhost:" + port + "/tasks/batch",
+                HttpMethod.POST, new HttpEntity<>(body, headers),
+                new ParameterizedTypeReference<List<Map<String, Object>>>() { }).getBody();
+
+        //then
+        assertThat(result).extracting(item -> item.get("created")).containsExactly(true, false, true);
+        assertThat(result.get(1).get("errors")).asList().isNotEmpty();
+        assertThat(repo.findAll()).hasSize(initial + 2);
+        assertThat(repo.findById((Integer) result.get(2).get("id"))).get()
+                .matches(Task::isDone);
+    }
+
     @Test
     void httpGet_returnsGivenTask() {
         //given
@@ -47,4 +140,248 @@ class TaskControllerTestE2ETest {
         //then
         assertThat(result.getId()).isEqualTo(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    void httpGet_searchDone_pagesSummariesAndCounts() {
+        //given
+        for (int i = 0; i < 3; i++) {
+            var task = new Task("done " + i, LocalDateTime.now());
+            task.setDone(true);
+            repo.save(task);
+        }
+        long expected = repo.findByDone(true).size();
+
+        //when
+        Long count = restTemplate.getForObject("http://localhost:" + port + "/tasks/search/done?state=true&count",
+                Long.class);
+        int seen = 0;
+        String next = "/tasks/search/done?state=true&size=2";
+        while (next != null) {
+            var response = restTemplate.getForEntity("http://localhost:" + port + next, JsonNode.class);
+            assertThat(response.getBody()).allSatisfy(summary -> assertThat(summary.fieldNames()).toIterable()
+                    .containsExactlyInAnyOrder("id", "description"));
+            seen += response.getBody().size();
+            String link = response.getHeaders().getFirst(HttpHeaders.LINK);
+            next = link == null ? null : link.substring(1, link.indexOf('>'));
+        }
+
+        //then
+        assertThat(count).isEqualTo(expected);
+        assertThat(seen).isEqualTo(expected);
+    }
+
+    @Test
+    void httpGet_withMatchingETag_returnsNotModified() {
+        //given
+        int id = repo.save(new Task("foo", LocalDateTime.now())).getId();
+        String eTag = restTemplate.getForEntity("http://localhost:" + port + "/tasks/" + id, Task.class)
+                .getHeaders().getETag();
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+
+        //when
+        var response = restTemplate.exchange("http://localhost:" + port + "/tasks/" + id,
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        //then
+        assertThat(eTag).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void httpGet_allTasks_changesETagAfterUpdate() {
+        //given
+        int id = repo.save(new Task("foo", LocalDateTime.now())).getId();
+        String before = restTemplate.getForEntity("http://localhost:" + port + "/tasks", String.class)
+                .getHeaders().getETag();
+
+        //when
+        restTemplate.exchange("http://localhost:" + port + "/tasks/" + id, HttpMethod.PATCH, null, String.class);
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(before);
+        var response = restTemplate.exchange("http://localhost:" + port + "/tasks",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void httpPut_withStaleIfMatch_isRejected() {
+        //given
+        int id = repo.save(new Task("foo", LocalDateTime.now())).getId();
+        String eTag = restTemplate.getForEntity("http://localhost:" + port + "/tasks/" + id, Task.class)
+                .getHeaders().getETag();
+        var headers = new HttpHeaders();
+        headers.setIfMatch(eTag);
+
+        //when
+        var first = restTemplate.exchange("http://localhost:" + port + "/tasks/" + id, HttpMethod.PUT,
+                new HttpEntity<>(new Task("bar", LocalDateTime.now()), headers), Task.class);
+        var second = restTemplate.exchange("http://localhost:" + port + "/tasks/" + id, HttpMethod.PUT,
+                new HttpEntity<>(new Task("baz", LocalDateTime.now()), headers), String.class);
+
+        //then
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getETag()).isNotEqualTo(eTag);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(repo.findById(id)).get().extracting(Task::getDescription).isEqualTo("bar");
+    }
+
+    @Test
+    void httpGet_negotiatesCompactEncodings() throws Exception {
+        //given
+        repo.save(new Task("foo", LocalDateTime.now()));
+        int expected = repo.findAll().size();
+
+        //when
+        var json = getBytes("/tasks", MediaType.APPLICATION_JSON_VALUE);
+        var cbor = getBytes("/tasks", MvcConfiguration.APPLICATION_CBOR_VALUE);
+        var smile = getBytes("/tasks", MvcConfiguration.APPLICATION_SMILE_VALUE);
+
+        //then
+        assertThat(cbor.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType(MvcConfiguration.APPLICATION_CBOR_VALUE));
+        assertThat(cbor.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+        assertThat(new CBORMapper().readTree(cbor.getBody())).hasSize(expected);
+        assertThat(new SmileMapper().readTree(smile.getBody())).hasSize(expected);
+        assertThat(cbor.getBody().length).isLessThan(json.getBody().length);
+        assertThat(smile.getBody().length).isLessThan(json.getBody().length);
+    }
+
+    @Test
+    void httpGet_groupTasks_referencesGroupById() throws Exception {
+        //given
+        var group = new TaskGroup();
+        group.setDescription("group");
+        int groupId = groupRepo.save(group).getId();
+        repo.save(new Task("grouped", LocalDateTime.now(), group));
+
+        //when
+        var response = getBytes("/groups/" + groupId, MediaType.APPLICATION_JSON_VALUE);
+
+        //then
+        var tasks = new ObjectMapper().readTree(response.getBody());
+        assertThat(tasks).hasSize(1);
+        assertThat(tasks.get(0).get("groupId").asInt()).isEqualTo(groupId);
+        assertThat(tasks.get(0).has("group")).isFalse();
+    }
+
+    @Test
+    void httpGet_changes_returnsOnlyChangesSinceToken() throws InterruptedException {
+        //given
+        int kept = repo.save(new Task("kept", LocalDateTime.now())).getId();
+        int deleted = repo.save(new Task("deleted", LocalDateTime.now())).getId();
+        Thread.sleep(5);
+        String since = SyncToken.encode(LocalDateTime.now());
+
+        //when
+        int created = repo.save(new Task("created", LocalDateTime.now())).getId();
+        restTemplate.exchange("http://localhost:" + port + "/tasks/" + deleted, HttpMethod.DELETE, null, String.class);
+        var changes = restTemplate.getForObject("http://localhost:" + port + "/tasks/changes?since=" + since,
+                JsonNode.class);
+
+        //then
+        assertThat(changedIds(changes)).contains(created).doesNotContain(kept);
+        assertThat(changes.get("deleted")).extracting(JsonNode::asInt).containsExactly(deleted);
+        // the watermark doesn't move into the last moments, changes there may still be committing
+        assertThat(changes.get("next").asText()).isEqualTo(since);
+        assertThat(repo.findById(deleted)).isEmpty();
+    }
+
+    @Test
+    void httpGet_changes_includesChangesCommittedLate() {
+        //given
+        var late = new AtomicInteger();
+        String since = new TransactionTemplate(transactionManager).execute(status -> {
+            // stamped now, but committed only after a later change has been synced
+            late.set(repo.save(new Task("late", LocalDateTime.now())).getId());
+            CompletableFuture.runAsync(() -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                repo.save(new Task("early", LocalDateTime.now()));
+            }).join();
+            return restTemplate.getForObject("http://localhost:" + port + "/tasks/changes", JsonNode.class)
+                    .get("next").asText();
+        });
+
+        //when
+        var changes = restTemplate.getForObject("http://localhost:" + port + "/tasks/changes?since=" + since,
+                JsonNode.class);
+
+        //then
+        assertThat(changedIds(changes)).contains(late.get());
+    }
+
+    @Test
+    void httpGet_changes_withMalformedToken_isRejected() {
+        //when
+        var response = restTemplate.getForEntity("http://localhost:" + port + "/tasks/changes?since=bogus", String.class);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void httpDelete_missingTask_returnsNotFound() {
+        //when
+        var response = restTemplate.exchange("http://localhost:" + port + "/tasks/-1", HttpMethod.DELETE, null, String.class);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void httpGet_reportsSqlStatementsInHeader() {
+        //given
+        int id = repo.save(new Task("foo", LocalDateTime.now())).getId();
+
+        //when
+        var response = restTemplate.getForEntity("http://localhost:" + port + "/tasks/" + id, Task.class);
+
+        //then
+        assertThat(response.getHeaders().getFirst(SqlStatisticsFilter.STATEMENTS_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    void httpGet_events_pushesCommittedChanges() throws Exception {
+        //given
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks/events"))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+        var lines = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines()).body().iterator();
+
+        //when
+        String position = lines.next();
+        restTemplate.postForEntity("http://localhost:" + port + "/tasks",
+                new Task("pushed", LocalDateTime.now()), Task.class);
+        var event = new ArrayList<String>();
+        while (lines.hasNext() && !lines.next().equals("event:" + TaskChangeFeed.TASK_EVENT)) {
+            // skip the rest of the position event
+        }
+        for (String line = lines.next(); !line.isEmpty(); line = lines.next()) {
+            event.add(line);
+        }
+
+        //then
+        assertThat(position).isEqualTo("event:" + TaskChangeFeed.POSITION_EVENT);
+        assertThat(event).anyMatch(line -> line.startsWith("data:") && line.contains("\"description\":\"pushed\""));
+    }
+
+    private ResponseEntity<byte[]> getBytes(String path, String accept) {
+        var headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.parseMediaType(accept)));
+        return restTemplate.exchange("http://localhost:" + port + path,
+                HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private static List<Integer> changedIds(JsonNode changes) {
+        var result = new ArrayList<Integer>();
+        changes.get("changed").forEach(task -> result.add(task.get("id").asInt()));
+        return result;
+    }
+}
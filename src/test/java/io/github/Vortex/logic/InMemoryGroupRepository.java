@@ -0,0 +1,128 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroup;
+import io.github.Vortex.model.TaskGroupRepository;
+import io.github.Vortex.model.projection.GroupTaskRow;
+import io.github.Vortex.model.projection.Watermark;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Group repository kept in a map, for the service tests and benchmarks that shouldn't need a database.
+ */
+public class InMemoryGroupRepository implements TaskGroupRepository {
+    private int index = 0;
+    private final Map<Integer, TaskGroup> map = new HashMap<>();
+
+    public int count() {
+        return map.values().size();
+    }
+
+    @Override
+    public List<TaskGroup> findAll() {
+        return new ArrayList<>(map.values());
+    }
+
+    @Override
+    public List<GroupTaskRow> findAllGroupTaskRows() {
+        return map.values().stream()
+                .flatMap(group -> group.getTasks().isEmpty()
+                        ? Stream.of(new GroupTaskRow(group.getId(), group.getDescription(), null, null, null, null))
+                        : group.getTasks().stream().map(task -> new GroupTaskRow(
+                        group.getId(), group.getDescription(), group.getLatestDeadline(),
+                        task.getId(), task.getDescription(), task.isDone())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<TaskGroup> findById(final Integer id) {
+        return Optional.ofNullable(map.get(id));
+    }
+
+    @Override
+    public Optional<Integer> findVersionById(final Integer id) {
+        return findById(id).map(TaskGroup::getVersion);
+    }
+
+    @Override
+    public Watermark findWatermark() {
+        return new Watermark((long) map.size(), map.values().stream().mapToLong(TaskGroup::getVersion).sum());
+    }
+
+    @Override
+    public TaskGroup save(final TaskGroup entity) {
+        if (entity.getId() == 0) {
+            try {
+                var field = TaskGroup.class.getDeclaredField("id");
+                field.setAccessible(true);
+                field.set(entity, ++index);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        map.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public boolean existsByDoneIsFalseAndProject_Id(final Integer projectId) {
+        return map.values().stream()
+                .filter(group -> !group.isDone())
+                .anyMatch(group -> group.getProject() != null && group.getProject().getId() == projectId);
+    }
+
+    @Override
+    public List<Integer> findProjectIdsWithUndoneGroups(final Collection<Integer> projectIds) {
+        return projectIds.stream()
+                .filter(this::existsByDoneIsFalseAndProject_Id)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TaskGroup> insertAll(final List<TaskGroup> groups) {
+        groups.forEach(this::save);
+        return groups;
+    }
+
+    @Override
+    public void updateCounters(final Integer id, final int tasksDelta, final int undoneDelta) {
+        var group = map.get(id);
+        group.setTaskCount(group.getTaskCount() + tasksDelta);
+        group.setUndoneCount(group.getUndoneCount() + undoneDelta);
+        if (group.getUndoneCount() > 0) {
+            group.setDone(false);
+        }
+    }
+
+    @Override
+    public int toggleDone(final Integer id) {
+        var group = map.get(id);
+        if (group == null || (!group.isDone() && group.getUndoneCount() > 0)) {
+            return 0;
+        }
+        group.setDone(!group.isDone());
+        return 1;
+    }
+
+    @Override
+    public void raiseLatestDeadline(final Integer id, final LocalDateTime deadline) {
+        var group = map.get(id);
+        if (group.getLatestDeadline() == null || group.getLatestDeadline().isBefore(deadline)) {
+            group.setLatestDeadline(deadline);
+        }
+    }
+
+    @Override
+    public void recalculateLatestDeadline(final Integer id) {
+        var group = map.get(id);
+        group.setLatestDeadline(group.getTasks().stream()
+                .map(Task::getDeadline)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null));
+    }
+}
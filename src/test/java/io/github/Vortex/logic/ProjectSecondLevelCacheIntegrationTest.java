@@ -0,0 +1,101 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.model.Project;
+import io.github.Vortex.model.ProjectRepository;
+import io.github.Vortex.model.ProjectStep;
+import io.github.Vortex.model.projection.ProjectWriteModel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProjectSecondLevelCacheIntegrationTest {
+    @Autowired
+    private ProjectService service;
+
+    @Autowired
+    private ProjectRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("should load a project with its steps again without touching the database")
+    void findById_servedFromSecondLevelCache() {
+        //given
+        int id = service.save(project("foo")).getId();
+        stepsOf(id);
+        statistics.clear();
+
+        //when
+        var steps = stepsOf(id);
+
+        //then
+        assertThat(steps).containsExactly("step");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Project.CACHE_REGION).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(Project.STEPS_CACHE_REGION).getHitCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should cache all projects until a project is saved")
+    void findAll_cachedUntilSave() {
+        //given
+        service.save(project("foo"));
+        repository.findAll();
+        statistics.clear();
+
+        //when
+        var cached = repository.findAll();
+        long hitsBeforeSave = statistics.getQueryCacheHitCount();
+        service.save(project("bar"));
+        var afterSave = repository.findAll();
+
+        //then
+        assertThat(hitsBeforeSave).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(afterSave).hasSize(cached.size() + 1)
+                .extracting(Project::getDescription).contains("bar");
+    }
+
+    private List<String> stepsOf(int projectId) {
+        return transactionTemplate.execute(status -> repository.findById(projectId).orElseThrow().getSteps().stream()
+                .map(ProjectStep::getDescription)
+                .collect(Collectors.toList()));
+    }
+
+    private ProjectWriteModel project(String description) {
+        var step = new ProjectStep();
+        step.setDescription("step");
+        step.setDaysToDeadline(-1);
+        var project = new ProjectWriteModel();
+        project.setDescription(description);
+        project.setSteps(List.of(step));
+        return project;
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.adapter.SqlStatistics;
+import io.github.Vortex.model.ProjectStep;
+import io.github.Vortex.model.TaskGroupRepository;
+import io.github.Vortex.model.projection.GroupReadModel;
+import io.github.Vortex.model.projection.ProjectGroupWriteModel;
+import io.github.Vortex.model.projection.ProjectWriteModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProjectServiceBatchIntegrationTest {
+    private static final LocalDateTime DEADLINE = LocalDateTime.of(2022, 2, 2, 10, 0);
+
+    @Autowired
+    private ProjectService service;
+
+    @Autowired
+    private TaskGroupRepository groupRepository;
+
+    @Test
+    @DisplayName("should create groups for many projects with a fixed number of statements")
+    void createGroups_takesFourStatements() {
+        //given
+        var toCreate = IntStream.range(0, 3)
+                .mapToObj(i -> new ProjectGroupWriteModel(service.save(project("project " + i)).getId(), DEADLINE))
+                .collect(Collectors.toList());
+
+        //when
+        List<GroupReadModel> result;
+        int statements;
+        try (var sql = SqlStatistics.open(false)) {
+            result = service.createGroups(toCreate);
+            statements = sql.getStatements();
+        }
+
+        //then
+        assertThat(statements).isEqualTo(4);
+        assertThat(result).hasSize(3)
+                .allSatisfy(group -> assertThat(group.getTasks()).hasSize(2));
+        var created = groupRepository.findById(result.get(0).getId()).orElseThrow();
+        assertThat(created.getTaskCount()).isEqualTo(2);
+        assertThat(created.getUndoneCount()).isEqualTo(2);
+        assertThat(created.getLatestDeadline()).isEqualTo(DEADLINE.minusDays(1));
+    }
+
+    private ProjectWriteModel project(String description) {
+        var project = new ProjectWriteModel();
+        project.setDescription(description);
+        project.setSteps(List.of(step("first", -2), step("second", -1)));
+        return project;
+    }
+
+    private ProjectStep step(String description, int daysToDeadline) {
+        var step = new ProjectStep();
+        step.setDescription(description);
+        step.setDaysToDeadline(daysToDeadline);
+        return step;
+    }
+}
@@ -3,8 +3,11 @@ package io.github.Vortex.logic;
 import io.github.Vortex.TaskConfigurationProperties;
 import io.github.Vortex.model.*;
 import io.github.Vortex.model.projection.GroupReadModel;
+import io.github.Vortex.model.projection.ProjectGroupWriteModel;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,8 +16,11 @@ import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ProjectServiceTest {
@@ -26,7 +32,7 @@ class ProjectServiceTest {
 
         TaskConfigurationProperties mockConfig = configurationReturning(false);
         //WHEN
-        var toTest = new ProjectService(null, mockGroupRepository, null, mockConfig);
+        var toTest = new ProjectService(null, mockGroupRepository, null, mockConfig, plansCache());
 
         var exception = catchThrowable(() -> toTest.createGroup(LocalDateTime.now(), 0));
 
@@ -45,7 +51,7 @@ class ProjectServiceTest {
 
         TaskConfigurationProperties mockConfig = configurationReturning(true);
         //WHEN
-        var toTest = new ProjectService(mockRepository, null, null, mockConfig);
+        var toTest = new ProjectService(mockRepository, null, null, mockConfig, plansCache());
 
         var exception = catchThrowable(() -> toTest.createGroup(LocalDateTime.now(), 0));
 
@@ -66,7 +72,7 @@ class ProjectServiceTest {
 
         TaskConfigurationProperties mockConfig = configurationReturning(true);
         //WHEN
-        var toTest = new ProjectService(mockRepository, mockGroupRepository, null, mockConfig);
+        var toTest = new ProjectService(mockRepository, mockGroupRepository, null, mockConfig, plansCache());
 
         var exception = catchThrowable(() -> toTest.createGroup(LocalDateTime.now(), 0));
 
@@ -96,7 +102,7 @@ class ProjectServiceTest {
         TaskConfigurationProperties mockConfig = configurationReturning(true);
 
         //WHEN
-        var toTest = new ProjectService(mockRepository, inMemoryGroupRepo, serviceWithInMemoryRepository, mockConfig);
+        var toTest = new ProjectService(mockRepository, inMemoryGroupRepo, serviceWithInMemoryRepository, mockConfig, plansCache());
 
         GroupReadModel result = toTest.createGroup(today, 1);
 
@@ -109,8 +115,108 @@ class ProjectServiceTest {
 
     }
 
+    @Test
+    @DisplayName("should reuse the project's template plan")
+    void createGroup_repeatedCalls_loadProjectOnce() {
+        //GIVEN
+        var today = LocalDate.now().atStartOfDay();
+        var project = projectWith("bar", Set.of(-1));
+        when(project.getId()).thenReturn(1);
+
+        var mockRepository = mock(ProjectRepository.class);
+        when(mockRepository.findById(anyInt())).thenReturn(Optional.of(project));
+
+        var inMemoryGroupRepo = inMemoryGroupRepository();
+        TaskConfigurationProperties mockConfig = configurationReturning(true);
+        var toTest = new ProjectService(mockRepository, inMemoryGroupRepo, dummyGroupService(inMemoryGroupRepo), mockConfig, plansCache());
+
+        //WHEN
+        toTest.createGroup(today, 1);
+        toTest.createGroup(today.plusDays(1), 1);
+        toTest.createGroup(today, 1);
+
+        //THEN
+        verify(mockRepository, times(1)).findById(1);
+        assertThat(inMemoryGroupRepo.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should throw IllegalStateException when one undone group allowed and a project is given twice")
+    void createGroups_noMultipleGroupsConfig_And_sameProjectTwice_throwsIllegalStateException() {
+        //GIVEN
+        var inMemoryGroupRepo = inMemoryGroupRepository();
+        TaskConfigurationProperties mockConfig = configurationReturning(false);
+        var toTest = new ProjectService(null, inMemoryGroupRepo, null, mockConfig, plansCache());
+
+        //WHEN
+        var exception = catchThrowable(() -> toTest.createGroups(List.of(
+                new ProjectGroupWriteModel(1, LocalDateTime.now()),
+                new ProjectGroupWriteModel(1, LocalDateTime.now()))));
+
+        //THEN
+        assertThat(exception)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("one undone group");
+        assertThat(inMemoryGroupRepo.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should throw IllegalStateException when a group has no deadline")
+    void createGroups_missingDeadline_throwsIllegalStateException() {
+        //GIVEN
+        var mockRepository = mock(ProjectRepository.class);
+        var inMemoryGroupRepo = inMemoryGroupRepository();
+        TaskConfigurationProperties mockConfig = configurationReturning(true);
+        var toTest = new ProjectService(mockRepository, inMemoryGroupRepo, dummyGroupService(inMemoryGroupRepo), mockConfig, plansCache());
+
+        //WHEN
+        var exception = catchThrowable(() -> toTest.createGroups(List.of(
+                new ProjectGroupWriteModel(1, LocalDateTime.now()),
+                new ProjectGroupWriteModel(2, null))));
+
+        //THEN
+        assertThat(exception)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Deadline");
+        assertThat(inMemoryGroupRepo.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should create one group per given project and deadline")
+    void createGroups_configurationOk_existingProjects_createsAllGroups() {
+        //GIVEN
+        var today = LocalDate.now().atStartOfDay();
+        var foo = projectWith("foo", Set.of(-1));
+        when(foo.getId()).thenReturn(1);
+        var bar = projectWith("bar", Set.of(-2, -3));
+        when(bar.getId()).thenReturn(2);
+
+        var mockRepository = mock(ProjectRepository.class);
+        when(mockRepository.findAllWithStepsByIdIn(anyCollection())).thenReturn(List.of(foo, bar));
+
+        var inMemoryGroupRepo = inMemoryGroupRepository();
+        TaskConfigurationProperties mockConfig = configurationReturning(true);
+        var toTest = new ProjectService(mockRepository, inMemoryGroupRepo, dummyGroupService(inMemoryGroupRepo), mockConfig, plansCache());
+
+        //WHEN
+        var result = toTest.createGroups(List.of(
+                new ProjectGroupWriteModel(1, today),
+                new ProjectGroupWriteModel(2, today),
+                new ProjectGroupWriteModel(1, today.plusDays(7))));
+
+        //THEN
+        assertThat(result).extracting(GroupReadModel::getDescription).containsExactly("foo", "bar", "foo");
+        assertThat(result).extracting(GroupReadModel::getDeadline)
+                .containsExactly(today.minusDays(1), today.minusDays(2), today.plusDays(6));
+        assertThat(inMemoryGroupRepo.count()).isEqualTo(3);
+    }
+
+    private Cache plansCache() {
+        return new ConcurrentMapCache(ProjectService.PLANS_CACHE);
+    }
+
     private TaskGroupService dummyGroupService(final InMemoryGroupRepository inMemoryGroupRepo) {
-        return new TaskGroupService(inMemoryGroupRepo, null);
+        return new TaskGroupService(inMemoryGroupRepo, event -> { });
     }
 
     private Project projectWith(String description, Set<Integer> daysToDeadline) {
@@ -148,45 +254,4 @@ class ProjectServiceTest {
     private InMemoryGroupRepository inMemoryGroupRepository() {
         return new InMemoryGroupRepository();
     }
-
-    public static class InMemoryGroupRepository implements TaskGroupRepository {
-        private int index = 0;
-        private final Map<Integer, TaskGroup> map = new HashMap<>();
-
-        public int count() {
-            return map.values().size();
-        }
-
-        @Override
-        public List<TaskGroup> findAll() {
-            return new ArrayList<>(map.values());
-        }
-
-        @Override
-        public Optional<TaskGroup> findById(final Integer id) {
-            return Optional.ofNullable(map.get(id));
-        }
-
-        @Override
-        public TaskGroup save(final TaskGroup entity) {
-            if (entity.getId() == 0) {
-                try {
-                    var field = TaskGroup.class.getDeclaredField("id");
-                    field.setAccessible(true);
-                    field.set(entity, ++index);
-                } catch (NoSuchFieldException | IllegalAccessException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-            map.put(entity.getId(), entity);
-            return entity;
-        }
-
-        @Override
-        public boolean existsByDoneIsFalseAndProject_Id(final Integer projectId) {
-            return map.values().stream()
-                    .filter(group -> !group.isDone())
-                    .anyMatch(group -> group.getProject() != null && group.getProject().getId() == projectId);
-        }
-    }
-}
\ No newline at end of file
+}
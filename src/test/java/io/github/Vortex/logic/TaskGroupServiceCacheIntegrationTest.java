@@ -0,0 +1,87 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.model.projection.GroupTaskWriteModel;
+import io.github.Vortex.model.projection.GroupWriteModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskGroupServiceCacheIntegrationTest {
+    @Autowired
+    private TaskGroupService service;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("should serve groups from cache until a group is created")
+    void readAll_cachedUntilCreateGroup() {
+        //given
+        var first = service.readAll();
+        double hitsBefore = hits();
+
+        //when
+        var second = service.readAll();
+        service.createGroup(groupWithOneTask());
+        var third = service.readAll();
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(hits()).isEqualTo(hitsBefore + 1);
+        assertThat(third).isNotSameAs(first).hasSize(first.size() + 1);
+    }
+
+    @Test
+    @DisplayName("should keep serving the cached groups until the creating transaction commits")
+    void createGroup_inTransaction_evictsAfterCommit() {
+        //given
+        var first = service.readAll();
+
+        //when
+        var duringTransaction = transactionTemplate.execute(status -> {
+            service.createGroup(groupWithOneTask());
+            return service.readAll();
+        });
+        var afterCommit = service.readAll();
+
+        //then
+        assertThat(duringTransaction).isSameAs(first);
+        assertThat(afterCommit).isNotSameAs(first).hasSize(first.size() + 1);
+    }
+
+    private double hits() {
+        return registry.get("cache.gets")
+                .tag("cache", TaskGroupService.GROUPS_CACHE)
+                .tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private GroupWriteModel groupWithOneTask() {
+        var task = new GroupTaskWriteModel();
+        task.setDescription("bar");
+        var group = new GroupWriteModel();
+        group.setDescription("foo");
+        group.setTasks(List.of(task));
+        return group;
+    }
+}
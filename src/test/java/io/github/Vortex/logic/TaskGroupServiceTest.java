@@ -2,7 +2,6 @@ package io.github.Vortex.logic;
 
 import io.github.Vortex.model.TaskGroup;
 import io.github.Vortex.model.TaskGroupRepository;
-import io.github.Vortex.model.TaskRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -12,6 +11,8 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class TaskGroupServiceTest {
@@ -19,10 +20,15 @@ class TaskGroupServiceTest {
     @DisplayName("should throw when undone tasks")
     void toggleGroup_undoneTasks_throwsIllegalStateException() {
         //GIVEN
-        TaskRepository mockTaskRepository = taskRepositoryReturning(true);
+        var group = new TaskGroup();
+        group.setUndoneCount(1);
+
+        var mockRepository = mock(TaskGroupRepository.class);
+        when(mockRepository.toggleDone(anyInt())).thenReturn(0);
+        when(mockRepository.findById(anyInt())).thenReturn(Optional.of(group));
 
         //System under test
-        var toTest = new TaskGroupService(null, mockTaskRepository);
+        var toTest = new TaskGroupService(mockRepository, event -> { });
 
         //WHEN
         var exception = catchThrowable(() -> toTest.toggleGroup(1));
@@ -37,13 +43,11 @@ class TaskGroupServiceTest {
     @DisplayName("should throw when no group")
     void toggleGroup_wrongId_throwsIllegalArgumentException() {
         //GIVEN
-        TaskRepository mockTaskRepository = taskRepositoryReturning(false);
-
         var mockRepository = mock(TaskGroupRepository.class);
         when(mockRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         //System under test
-        var toTest = new TaskGroupService(mockRepository, mockTaskRepository);
+        var toTest = new TaskGroupService(mockRepository, event -> { });
 
         //WHEN
         var exception = catchThrowable(() -> toTest.toggleGroup(1));
@@ -58,27 +62,18 @@ class TaskGroupServiceTest {
     @DisplayName("should toggle group")
     void toggleGroup_worksAsExpected() {
         //GIVEN
-        TaskRepository mockTaskRepository = taskRepositoryReturning(false);
-
-        var group = new TaskGroup();
-        var beforeToggle = group.isDone();
-
         var mockRepository = mock(TaskGroupRepository.class);
-        when(mockRepository.findById(anyInt())).thenReturn(Optional.of(group));
+        when(mockRepository.toggleDone(anyInt())).thenReturn(1);
 
         //System under test
-        var toTest = new TaskGroupService(mockRepository, mockTaskRepository);
+        var toTest = new TaskGroupService(mockRepository, event -> { });
 
         //WHEN
-        toTest.toggleGroup(0);
+        var exception = catchThrowable(() -> toTest.toggleGroup(0));
 
         //THEN
-        assertThat(group.isDone()).isEqualTo(!beforeToggle);
-    }
-
-    private TaskRepository taskRepositoryReturning(final boolean value) {
-        TaskRepository mockTaskRepository = mock(TaskRepository.class);
-        when(mockTaskRepository.existsByDoneIsFalseAndGroup_Id(anyInt())).thenReturn(value);
-        return mockTaskRepository;
+        assertThat(exception).isNull();
+        verify(mockRepository).toggleDone(0);
+        verify(mockRepository, never()).findById(anyInt());
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroup;
+import io.github.Vortex.model.TaskGroupRepository;
+import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.projection.GroupTaskWriteModel;
+import io.github.Vortex.model.projection.GroupWriteModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskServiceConcurrencyIntegrationTest {
+    private static final int TASKS = 5;
+    private static final int TOGGLERS = 4;
+    private static final int UPDATERS = 2;
+    private static final int OPERATIONS = 100;
+
+    @Autowired
+    private TaskService service;
+
+    @Autowired
+    private TaskGroupService groupService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskGroupRepository groupRepository;
+
+    @Test
+    @DisplayName("should keep group aggregates and the done invariant under concurrent writes")
+    void concurrentToggles_keepInvariants() throws InterruptedException {
+        //given
+        int groupId = groupService.createGroup(group()).getId();
+        var taskIds = taskRepository.findAllByGroup_Id(groupId).stream()
+                .map(Task::getId)
+                .collect(Collectors.toList());
+        var errors = new ConcurrentLinkedQueue<Throwable>();
+        var violations = new ConcurrentLinkedQueue<String>();
+        var updated = new AtomicInteger();
+        var gaveUp = new AtomicInteger();
+        var running = new AtomicBoolean(true);
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(TOGGLERS + UPDATERS + 2);
+
+        //when
+        var writers = new ArrayList<Runnable>();
+        IntStream.range(0, TOGGLERS).forEach(i -> writers.add(() ->
+                service.toggle(taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size())))));
+        IntStream.range(0, UPDATERS).forEach(i -> writers.add(() -> {
+            var source = new Task("updated " + i, LocalDateTime.now(), groupReference(groupId));
+            source.setDone(ThreadLocalRandom.current().nextBoolean());
+            try {
+                service.update(taskIds.get(0), source);
+                updated.incrementAndGet();
+            } catch (ConcurrencyFailureException e) {
+                // retries are bounded, losing every one of them on the hottest row is a legitimate outcome
+                gaveUp.incrementAndGet();
+            }
+        }));
+        writers.add(() -> {
+            try {
+                groupService.toggleGroup(groupId);
+            } catch (IllegalStateException e) {
+                // undone tasks left, expected while the others keep reopening them
+            }
+        });
+        var done = new CountDownLatch(writers.size());
+        writers.forEach(writer -> executor.execute(() -> repeat(writer, start, done, errors)));
+        executor.execute(() -> {
+            while (running.get()) {
+                groupRepository.findById(groupId)
+                        .filter(group -> group.isDone() && group.getUndoneCount() > 0)
+                        .ifPresent(group -> violations.add("done with " + group.getUndoneCount() + " undone tasks"));
+            }
+        });
+        start.countDown();
+        boolean finished = done.await(2, TimeUnit.MINUTES);
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(finished).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(violations).isEmpty();
+        assertThat(updated.get() + gaveUp.get()).isEqualTo(UPDATERS * OPERATIONS);
+        assertThat(updated.get()).isPositive();
+        List<Task> tasks = taskRepository.findAllByGroup_Id(groupId);
+        var group = groupRepository.findById(groupId).orElseThrow();
+        assertThat(tasks).hasSize(TASKS);
+        assertThat(group.getTaskCount()).isEqualTo(TASKS);
+        assertThat(group.getUndoneCount()).isEqualTo((int) tasks.stream().filter(task -> !task.isDone()).count());
+        if (group.isDone()) {
+            assertThat(group.getUndoneCount()).isZero();
+        }
+    }
+
+    private static void repeat(Runnable writer, CountDownLatch start, CountDownLatch done, Queue<Throwable> errors) {
+        try {
+            start.await();
+            for (int i = 0; i < OPERATIONS; i++) {
+                writer.run();
+            }
+        } catch (Throwable e) {
+            errors.add(e);
+        } finally {
+            done.countDown();
+        }
+    }
+
+    private static TaskGroup groupReference(int id) {
+        var group = new TaskGroup();
+        group.setId(id);
+        return group;
+    }
+
+    private static GroupWriteModel group() {
+        var group = new GroupWriteModel();
+        group.setDescription("contended");
+        group.setTasks(IntStream.range(0, TASKS)
+                .mapToObj(i -> {
+                    var task = new GroupTaskWriteModel();
+                    task.setDescription("task " + i);
+                    return task;
+                })
+                .collect(Collectors.toList()));
+        return group;
+    }
+}
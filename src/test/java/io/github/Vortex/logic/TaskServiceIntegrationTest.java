@@ -0,0 +1,142 @@
+package io.github.Vortex.logic;
+
+import io.github.Vortex.model.Task;
+import io.github.Vortex.model.TaskGroup;
+import io.github.Vortex.model.TaskGroupRepository;
+import io.github.Vortex.model.TaskRepository;
+import io.github.Vortex.model.projection.GroupTaskWriteModel;
+import io.github.Vortex.model.projection.GroupWriteModel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskServiceIntegrationTest {
+    private static final LocalDateTime DEADLINE = LocalDateTime.of(2022, 2, 2, 10, 0);
+
+    @Autowired
+    private TaskService service;
+
+    @Autowired
+    private TaskGroupService groupService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskGroupRepository groupRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("should toggle a task with one update and one reload")
+    void toggle_takesTwoStatements() {
+        //given
+        int id = taskRepository.save(new Task("foo", DEADLINE)).getId();
+        statistics.clear();
+
+        //when
+        var result = service.toggle(id);
+
+        //then
+        assertThat(result).get().matches(Task::isDone);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should not touch the database twice for a missing task")
+    void toggle_missingTask_takesOneStatement() {
+        //given
+        statistics.clear();
+
+        //when
+        var result = service.toggle(-1);
+
+        //then
+        assertThat(result).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should update a task with one select and one update")
+    void update_takesTwoStatements() {
+        //given
+        int id = taskRepository.save(new Task("foo", DEADLINE)).getId();
+        statistics.clear();
+
+        //when
+        service.update(id, new Task("bar", DEADLINE.plusDays(1)));
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(taskRepository.findById(id)).get()
+                .extracting(Task::getDescription).isEqualTo("bar");
+    }
+
+    @Test
+    @DisplayName("should keep group aggregates in sync with task writes")
+    void taskWrites_maintainGroupAggregates() {
+        //given
+        int groupId = groupService.createGroup(groupWithTasks(DEADLINE.minusDays(1), DEADLINE)).getId();
+        var tasks = taskRepository.findAllByGroup_Id(groupId);
+        var latest = tasks.stream().filter(task -> DEADLINE.equals(task.getDeadline())).findFirst().orElseThrow();
+
+        //when + then
+        service.toggle(latest.getId());
+        assertThat(group(groupId)).extracting(TaskGroup::getTaskCount, TaskGroup::getUndoneCount)
+                .containsExactly(2, 1);
+
+        var moved = new Task("moved", DEADLINE.minusDays(3));
+        service.update(latest.getId(), moved);
+        assertThat(group(groupId)).extracting(TaskGroup::getTaskCount, TaskGroup::getUndoneCount, TaskGroup::getLatestDeadline)
+                .containsExactly(1, 1, DEADLINE.minusDays(1));
+
+        var added = new Task("added", DEADLINE.plusDays(1), group(groupId));
+        service.create(added);
+        assertThat(group(groupId)).extracting(TaskGroup::getTaskCount, TaskGroup::getUndoneCount, TaskGroup::getLatestDeadline)
+                .containsExactly(2, 2, DEADLINE.plusDays(1));
+
+        int versionBeforeDelete = group(groupId).getVersion();
+        assertThat(service.delete(added.getId())).isTrue();
+        assertThat(taskRepository.findById(added.getId())).isEmpty();
+        assertThat(group(groupId)).extracting(TaskGroup::getTaskCount, TaskGroup::getUndoneCount, TaskGroup::getLatestDeadline)
+                .containsExactly(1, 1, DEADLINE.minusDays(1));
+        assertThat(group(groupId).getVersion()).isGreaterThan(versionBeforeDelete);
+    }
+
+    private TaskGroup group(int id) {
+        return groupRepository.findById(id).orElseThrow();
+    }
+
+    private GroupWriteModel groupWithTasks(LocalDateTime... deadlines) {
+        var group = new GroupWriteModel();
+        group.setDescription("foo");
+        group.setTasks(new ArrayList<>());
+        for (var deadline : deadlines) {
+            var task = new GroupTaskWriteModel();
+            task.setDescription("bar");
+            task.setDeadline(deadline);
+            group.getTasks().add(task);
+        }
+        return group;
+    }
+}
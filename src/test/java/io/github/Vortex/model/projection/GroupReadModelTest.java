@@ -5,6 +5,8 @@ import io.github.Vortex.model.TaskGroup;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -25,4 +27,39 @@ class GroupReadModelTest {
         //then
         assertThat(result).hasFieldOrPropertyWithValue("deadline", null);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should assemble groups from flat rows keeping groups without tasks")
+    void fromRows_assemblesGroupsInOnePass() {
+        // given
+        var latest = LocalDateTime.of(2022, 2, 2, 10, 0);
+        var rows = List.of(
+                new GroupTaskRow(1, "foo", latest, 1, "a", false),
+                new GroupTaskRow(1, "foo", latest, 2, "b", true),
+                new GroupTaskRow(2, "bar", null, null, null, null));
+
+        //when
+        var result = GroupReadModel.fromRows(rows);
+
+        //then
+        assertEquals(2, result.size());
+        assertThat(result.get(0)).hasFieldOrPropertyWithValue("deadline", latest);
+        assertEquals(2, result.get(0).getTasks().size());
+        assertThat(result.get(1)).hasFieldOrPropertyWithValue("description", "bar");
+        assertTrue(result.get(1).getTasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("should keep a task without the done flag as an undone one")
+    void fromRows_taskWithoutDone_isKeptUndone() {
+        // given
+        var rows = List.of(new GroupTaskRow(1, "foo", null, 1, "a", null));
+
+        //when
+        var result = GroupReadModel.fromRows(rows);
+
+        //then
+        assertEquals(1, result.get(0).getTasks().size());
+        assertFalse(result.get(0).getTasks().iterator().next().isDone());
+    }
+}